@@ -0,0 +1,88 @@
+package shi.container.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import shi.container.accessors.ConstructorAccessor;
+import shi.container.accessors.FieldAccessor;
+import shi.container.accessors.MemberAccessors;
+import shi.container.accessors.MethodAccessor;
+import shi.container.benchmarks.Components.Target;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+// MethodHandle accessors against core reflection for the three member kinds the container touches
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Target target = new Target();
+    private final Object value = new Object();
+    private final Object[] arguments = {value};
+
+    private Constructor<?> constructor;
+    private Field field;
+    private Method method;
+    private ConstructorAccessor constructorAccessor;
+    private FieldAccessor fieldAccessor;
+    private MethodAccessor methodAccessor;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        constructor = Target.class.getConstructor();
+        field = Target.class.getDeclaredField("value");
+        field.setAccessible(true);
+        method = Target.class.getMethod("value", Object.class);
+        constructorAccessor = MemberAccessors.of(constructor);
+        fieldAccessor = MemberAccessors.of(field);
+        methodAccessor = MemberAccessors.of(method);
+    }
+
+    @Benchmark
+    public Object constructorReflection() throws ReflectiveOperationException {
+        return constructor.newInstance(NO_ARGUMENTS);
+    }
+
+    @Benchmark
+    public Object constructorAccessor() {
+        return constructorAccessor.newInstance(NO_ARGUMENTS);
+    }
+
+    @Benchmark
+    public Object fieldReflection() throws ReflectiveOperationException {
+        field.set(target, value);
+        return target;
+    }
+
+    @Benchmark
+    public Object fieldAccessor() {
+        fieldAccessor.set(target, value);
+        return target;
+    }
+
+    @Benchmark
+    public Object methodReflection() throws ReflectiveOperationException {
+        return method.invoke(target, arguments);
+    }
+
+    @Benchmark
+    public Object methodAccessor() {
+        return methodAccessor.invoke(target, arguments);
+    }
+}
@@ -0,0 +1,26 @@
+package shi.container.benchmarks;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Runs the selected benchmarks once per thread count, -Dthreads=1,4,8 (default 1,4). The first argument is the
+ * JMH include pattern, e.g. ContainerBenchmark or ApplicationContextBenchmark.getInstance.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        var include = args.length > 0 ? args[0] : ".*Benchmark.*";
+        for (var threads : System.getProperty("threads", "1,4").split(",")) {
+            var options = new OptionsBuilder()
+                    .include(include)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package shi.container.benchmarks;
+
+import shi.container.annotation.Inject;
+import shi.container.annotation.Singleton;
+
+final class Components {
+
+    private Components() {
+    }
+
+    @Singleton
+    public static class Warm {
+    }
+
+    public static class Prototype {
+        @Inject
+        Warm warm;
+    }
+
+    public static class Consumer {
+        @Inject
+        Warm warm;
+        @Inject
+        Prototype prototype;
+    }
+
+    public interface Service {
+    }
+
+    @Singleton
+    public static class ServiceImpl implements Service {
+    }
+
+    public static class Target {
+        Object value;
+
+        public Target() {
+        }
+
+        public void value(Object value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package shi.container.benchmarks;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import shi.container.Container;
+import shi.container.ContainerOptions;
+import shi.container.benchmarks.Components.Consumer;
+import shi.container.benchmarks.Components.Prototype;
+import shi.container.benchmarks.Components.Service;
+import shi.container.benchmarks.Components.ServiceImpl;
+import shi.container.benchmarks.Components.Warm;
+import shi.container.bind.Bind;
+import shi.container.bind.Execution;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// graphSize is the number of Service binds, every lookup runs against a container of that size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int graphSize;
+
+    private Container container;
+    // Builds components without @ExecuteOn on the calling thread
+    private Container inline;
+    private String qualifier;
+
+    @Setup
+    public void setup() {
+        container = Container.create();
+        container.registry(Bind.bind(Warm.class).to(Warm.class));
+        container.registry(Bind.bind(Prototype.class).to(Prototype.class));
+        for (var i = 0; i < graphSize; i++) {
+            container.registry(Bind.bind(Service.class).name("service" + i).to(ServiceImpl.class));
+        }
+        join(container.preInstantiateSingletons());
+        qualifier = "service" + graphSize / 2;
+        inline = Container.create(Vertx.vertx(), new ContainerOptions().execution(Execution.INLINE));
+        inline.registry(Bind.bind(Warm.class).to(Warm.class));
+        inline.registry(Bind.bind(Prototype.class).to(Prototype.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        join(container.close());
+        join(inline.close());
+    }
+
+    @Benchmark
+    public Warm getInstanceWarmSingleton() {
+        return container.getInstance(Warm.class).result();
+    }
+
+    @Benchmark
+    public Prototype createInstancePrototype() {
+        return join(container.createInstance(Prototype.class));
+    }
+
+    @Benchmark
+    public Prototype createInstancePrototypeInline() {
+        return join(inline.createInstance(Prototype.class));
+    }
+
+    @Benchmark
+    public Consumer injectExisting() {
+        return join(container.inject(new Consumer()));
+    }
+
+    @Benchmark
+    public List<Service> getInstancesMultibinding() {
+        return join(container.getInstances(Service.class));
+    }
+
+    @Benchmark
+    public Service getInstanceByQualifier() {
+        return container.getInstance(Service.class, qualifier).result();
+    }
+
+    private static <T> T join(Future<T> future) {
+        return future.toCompletionStage().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,126 @@
+package shi.container.benchmarks;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import shi.container.Container;
+import shi.container.benchmarks.graph.GraphGenerator;
+import shi.container.benchmarks.graph.GraphGenerator.Graph;
+import shi.container.benchmarks.graph.GraphGenerator.Loaded;
+import shi.container.bind.Bind;
+import shi.vertx.container.ApplicationContext;
+import shi.vertx.container.Environment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Cold start: every iteration loads the generated graph through a fresh class loader, then times
+// registering all of it and resolving every component once
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    int size;
+
+    @Param("6")
+    int depth;
+
+    @Param("3")
+    int fanOut;
+
+    @Param("0.5")
+    double interfaceDensity;
+
+    private Path directory;
+    private Graph graph;
+    private Loaded loaded;
+    private Vertx vertx;
+    private Container container;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        directory = Files.createTempDirectory("shi-graph");
+        graph = new GraphGenerator(size, depth, fanOut, interfaceDensity).generate(directory);
+    }
+
+    @Setup(Level.Iteration)
+    public void load() {
+        loaded = graph.load();
+        vertx = Vertx.vertx();
+    }
+
+    @TearDown(Level.Iteration)
+    public void unload() throws IOException {
+        if (container != null) {
+            join(container.close());
+            container = null;
+        } else {
+            join(vertx.close());
+        }
+        Environment.destroy();
+        loaded.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Object container() {
+        container = Container.create(vertx);
+        var types = loaded.types();
+        var implementations = loaded.implementations();
+        for (var i = 0; i < types.size(); i++) {
+            container.registry(Bind.bind(types.get(i)).to(implementations.get(i)));
+        }
+        var instances = new ArrayList<Future<?>>(types.size());
+        for (var type : types) {
+            instances.add(container.getInstance(type));
+        }
+        return join(Future.all(instances));
+    }
+
+    @Benchmark
+    public Object applicationContext() {
+        var context = Environment.create(ApplicationContext.create());
+        var types = loaded.types();
+        var implementations = loaded.implementations();
+        for (var i = 0; i < types.size(); i++) {
+            context.registry(shi.vertx.container.binding.Bind.bind(types.get(i)).to(implementations.get(i)));
+        }
+        var instances = new ArrayList<>(types.size());
+        for (var type : types) {
+            instances.add(context.getInstance(type));
+        }
+        return instances;
+    }
+
+    private static <T> T join(Future<T> future) {
+        return future.toCompletionStage().toCompletableFuture().join();
+    }
+}
@@ -0,0 +1,195 @@
+package shi.container.benchmarks.graph;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/*
+ * Writes and compiles a synthetic component graph. Components are spread over `depth` layers, each one takes
+ * `fanOut` constructor dependencies from the next layer, the last layer has none. A share of `interfaceDensity`
+ * components is exposed through an interface and injected as such. Every class carries the annotations of both
+ * containers, so one graph serves ContainerImpl and ApplicationContextImpl.
+ */
+public final class GraphGenerator {
+
+    private static final String PACKAGE = "shi.generated";
+
+    private final int size;
+    private final int depth;
+    private final int fanOut;
+    private final double interfaceDensity;
+
+    public GraphGenerator(int size, int depth, int fanOut, double interfaceDensity) {
+        if (size < 1 || depth < 1 || fanOut < 0 || interfaceDensity < 0 || interfaceDensity > 1) {
+            throw new IllegalArgumentException("Invalid graph shape");
+        }
+        this.size = size;
+        this.depth = Math.min(depth, size);
+        this.fanOut = fanOut;
+        this.interfaceDensity = interfaceDensity;
+    }
+
+    public Graph generate(Path directory) throws IOException {
+        var sources = Files.createDirectories(directory.resolve("src"));
+        var classes = Files.createDirectories(directory.resolve("classes"));
+        var random = new Random(size * 31L + depth);
+        var exposed = new boolean[size];
+        for (var i = 0; i < size; i++) {
+            exposed[i] = random.nextDouble() < interfaceDensity;
+        }
+        var files = new ArrayList<String>(size * 2);
+        var components = new ArrayList<Graph.Component>(size);
+        for (var i = 0; i < size; i++) {
+            var layer = layerOf(i);
+            var parameters = new StringJoiner(", ");
+            if (layer + 1 < depth) {
+                var first = firstOf(layer + 1);
+                var width = firstOf(layer + 2) - first;
+                for (var k = 0; k < Math.min(fanOut, width); k++) {
+                    var dependency = first + (i * fanOut + k) % width;
+                    parameters.add(typeName(dependency, exposed) + " d" + k);
+                }
+            }
+            var type = "C" + i;
+            var declaration = new StringBuilder()
+                    .append("package ").append(PACKAGE).append(";\n\n")
+                    .append("@shi.container.annotation.Singleton\n")
+                    .append("@javax.inject.Singleton\n")
+                    .append("public class ").append(type);
+            if (exposed[i]) {
+                declaration.append(" implements I").append(i);
+                files.add(write(sources, "I" + i, "package " + PACKAGE + ";\n\npublic interface I" + i + " {\n}\n"));
+            }
+            declaration.append(" {\n")
+                    .append("    @shi.container.annotation.Inject\n")
+                    .append("    @javax.inject.Inject\n")
+                    .append("    public ").append(type).append('(').append(parameters).append(") {\n")
+                    .append("    }\n")
+                    .append("}\n");
+            files.add(write(sources, type, declaration.toString()));
+            components.add(new Graph.Component(PACKAGE + "." + typeName(i, exposed), PACKAGE + "." + type));
+        }
+        compile(classes, files);
+        return new Graph(classes, components);
+    }
+
+    // Layers split the components evenly, the remainder goes to the first layers
+    private int firstOf(int layer) {
+        var base = size / depth;
+        var remainder = size % depth;
+        return layer * base + Math.min(layer, remainder);
+    }
+
+    private int layerOf(int component) {
+        var layer = 0;
+        while (firstOf(layer + 1) <= component) {
+            layer++;
+        }
+        return layer;
+    }
+
+    private static String typeName(int component, boolean[] exposed) {
+        return (exposed[component] ? "I" : "C") + component;
+    }
+
+    private static String write(Path sources, String type, String source) throws IOException {
+        var file = sources.resolve(type + ".java");
+        Files.writeString(file, source, StandardCharsets.UTF_8);
+        return file.toString();
+    }
+
+    private static void compile(Path classes, List<String> files) throws IOException {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Generating a graph needs a JDK, no system Java compiler found");
+        }
+        var arguments = new ArrayList<String>(files.size() + 6);
+        arguments.add("-proc:none");
+        arguments.add("-classpath");
+        arguments.add(System.getProperty("java.class.path"));
+        arguments.add("-d");
+        arguments.add(classes.toString());
+        arguments.addAll(files);
+        if (compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IOException("Compilation of the generated graph failed");
+        }
+    }
+
+    public static final class Graph {
+        private final Path classes;
+        private final List<Component> components;
+
+        private Graph(Path classes, List<Component> components) {
+            this.classes = classes;
+            this.components = components;
+        }
+
+        public int size() {
+            return components.size();
+        }
+
+        // A fresh class loader per call, nothing cached against the classes of an earlier load survives
+        public Loaded load() {
+            try {
+                var loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, GraphGenerator.class.getClassLoader());
+                var types = new ArrayList<Class<?>>(components.size());
+                var implementations = new ArrayList<Class<?>>(components.size());
+                for (var component : components) {
+                    types.add(Class.forName(component.type, true, loader));
+                    implementations.add(Class.forName(component.implementation, true, loader));
+                }
+                return new Loaded(loader, types, implementations);
+            } catch (MalformedURLException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static final class Component {
+            private final String type;
+            private final String implementation;
+
+            private Component(String type, String implementation) {
+                this.type = type;
+                this.implementation = implementation;
+            }
+        }
+    }
+
+    public static final class Loaded implements AutoCloseable {
+        private final URLClassLoader loader;
+        private final List<Class<?>> types;
+        private final List<Class<?>> implementations;
+
+        private Loaded(URLClassLoader loader, List<Class<?>> types, List<Class<?>> implementations) {
+            this.loader = loader;
+            this.types = types;
+            this.implementations = implementations;
+        }
+
+        // The bound type of every component, its interface when it has one
+        public List<Class<?>> types() {
+            return types;
+        }
+
+        public List<Class<?>> implementations() {
+            return implementations;
+        }
+
+        @Override
+        public void close() throws IOException {
+            loader.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package shi.vertx.container.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import shi.vertx.container.ApplicationContext;
+import shi.vertx.container.Environment;
+import shi.vertx.container.binding.Bind;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.TimeUnit;
+
+// graphSize is the number of Service binds, every lookup runs against a context of that size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApplicationContextBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int graphSize;
+
+    private ApplicationContext context;
+    private String qualifier;
+
+    @Setup
+    public void setup() {
+        context = Environment.create(ApplicationContext.create());
+        context.registry(Bind.bind(Warm.class));
+        // provide() without a qualifier only accepts a primary bind
+        context.registry(Bind.bind(Prototype.class).primary(true));
+        for (var i = 0; i < graphSize; i++) {
+            context.registry(Bind.bind(Service.class).name("service" + i).to(ServiceImpl.class));
+        }
+        context.getInstance(Warm.class);
+        qualifier = "service" + graphSize / 2;
+        context.getInstance(Service.class, qualifier);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Environment.destroy();
+    }
+
+    @Benchmark
+    public Warm getInstanceWarmSingleton() {
+        return context.getInstance(Warm.class);
+    }
+
+    @Benchmark
+    public Service getInstanceByQualifier() {
+        return context.getInstance(Service.class, qualifier);
+    }
+
+    @Benchmark
+    public Prototype provide() {
+        return context.provide(Prototype.class);
+    }
+
+    @Benchmark
+    public Warm environmentMy() {
+        return Environment.my(Warm.class);
+    }
+
+    @Singleton
+    public static class Warm {
+    }
+
+    public static class Prototype {
+        @Inject
+        Warm warm;
+    }
+
+    public interface Service {
+    }
+
+    @Singleton
+    public static class ServiceImpl implements Service {
+    }
+}
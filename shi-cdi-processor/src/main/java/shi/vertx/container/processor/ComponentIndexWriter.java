@@ -0,0 +1,116 @@
+package shi.vertx.container.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/*
+ * Collects what ComponentResolver would find at runtime: @Component classes bound to themselves and interfaces
+ * bound to their <Type>Impl or <pkg>.impl.<Type>Impl convention implementation. One tab separated line per
+ * binding: type, implementation, qualifier, scope. Binary names, so the runtime can load them without probing.
+ */
+class ComponentIndexWriter {
+
+    static final String LOCATION = "META-INF/shi-cdi/components.idx";
+
+    private static final String SINGLETON = "javax.inject.Singleton";
+
+    private final ProcessingEnvironment env;
+    private final Elements elements;
+    private final FactoryWriter qualifiers;
+    private final Set<String> entries = new LinkedHashSet<>();
+
+    ComponentIndexWriter(ProcessingEnvironment env, FactoryWriter qualifiers) {
+        this.env = env;
+        this.elements = env.getElementUtils();
+        this.qualifiers = qualifiers;
+    }
+
+    void collect(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+        if (FactoryWriter.hasAnnotation(type, ComponentProcessor.COMPONENT)) {
+            add(type, type);
+        }
+        var name = binaryName(type);
+        for (var inf : interfaces(type, new LinkedHashSet<>())) {
+            var infName = binaryName(inf);
+            var conventional = infName + "Impl";
+            var packaged = elements.getPackageOf(inf).getQualifiedName() + ".impl." + inf.getSimpleName() + "Impl";
+            if (name.equals(conventional) || name.equals(packaged)) {
+                add(inf, type);
+            }
+        }
+        for (var enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement) {
+                collect((TypeElement) enclosed);
+            }
+        }
+    }
+
+    void write() throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        var resource = env.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", LOCATION);
+        try (Writer out = resource.openWriter()) {
+            out.write("# type\timplementation\tqualifier\tscope\n");
+            for (var entry : entries) {
+                out.write(entry);
+                out.write('\n');
+            }
+        }
+    }
+
+    private void add(TypeElement type, TypeElement implementation) {
+        var singleton = isSingleton(type) || isSingleton(implementation);
+        entries.add(binaryName(type) + '\t' + binaryName(implementation) + '\t'
+                + qualifiers.qualifier(implementation) + '\t' + (singleton ? "singleton" : "prototype"));
+    }
+
+    private Set<TypeElement> interfaces(TypeElement type, Set<TypeElement> found) {
+        for (var inf : type.getInterfaces()) {
+            var element = asElement(inf);
+            if (element != null && found.add(element)) {
+                interfaces(element, found);
+            }
+        }
+        var superclass = asElement(type.getSuperclass());
+        if (superclass != null) {
+            interfaces(superclass, found);
+        }
+        return found;
+    }
+
+    private static TypeElement asElement(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) type).asElement() : null;
+    }
+
+    private static boolean isSingleton(Element type) {
+        if (FactoryWriter.hasAnnotation(type, SINGLETON)) {
+            return true;
+        }
+        for (var annotation : type.getAnnotationMirrors()) {
+            if (FactoryWriter.hasAnnotation(annotation.getAnnotationType().asElement(), SINGLETON)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String binaryName(TypeElement type) {
+        return elements.getBinaryName(type).toString();
+    }
+}
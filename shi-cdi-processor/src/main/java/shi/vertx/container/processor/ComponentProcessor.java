@@ -0,0 +1,130 @@
+package shi.vertx.container.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class ComponentProcessor extends AbstractProcessor {
+
+    static final String COMPONENT = "shi.vertx.container.annotations.Component";
+    static final String INJECT = "javax.inject.Inject";
+    static final String GENERATED_FACTORY = "shi.vertx.container.factories.GeneratedFactory";
+    static final String GENERATED_MEMBERS_INJECTOR = "shi.vertx.container.injectors.GeneratedMembersInjector";
+
+    private final Set<String> processed = new LinkedHashSet<>();
+    private final List<String> factories = new ArrayList<>();
+    private final List<String> injectors = new ArrayList<>();
+    private FactoryWriter writer;
+    private ComponentIndexWriter index;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        writer = new FactoryWriter(processingEnv);
+        index = new ComponentIndexWriter(processingEnv, writer);
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // Every type, convention implementations carry no annotation but belong in the component index
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (var element : roundEnv.getRootElements()) {
+            if (element instanceof TypeElement) {
+                index.collect((TypeElement) element);
+            }
+        }
+        for (var annotation : annotations) {
+            if (!annotation.getQualifiedName().contentEquals(COMPONENT)
+                    && !annotation.getQualifiedName().contentEquals(INJECT)) {
+                continue;
+            }
+            for (var element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                var type = enclosingType(element);
+                if (type != null && processed.add(type.getQualifiedName().toString())) {
+                    generate(type);
+                }
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeServices(GENERATED_FACTORY, factories);
+            writeServices(GENERATED_MEMBERS_INJECTOR, injectors);
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        try {
+            var factory = writer.writeFactory(type);
+            if (factory != null) {
+                factories.add(factory);
+            }
+            var injector = writer.writeMembersInjector(type);
+            if (injector != null) {
+                injectors.add(injector);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to generate factory: " + e.getMessage(), type);
+        }
+    }
+
+    private void writeServices(String service, List<String> implementations) {
+        if (implementations.isEmpty()) {
+            return;
+        }
+        try {
+            var resource = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + service);
+            try (Writer out = resource.openWriter()) {
+                for (var implementation : implementations) {
+                    out.write(implementation);
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write service file " + service + ": " + e.getMessage());
+        }
+    }
+
+    private void writeIndex() {
+        try {
+            index.write();
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write component index: " + e.getMessage());
+        }
+    }
+
+    private static TypeElement enclosingType(Element element) {
+        while (element != null && element.getKind() != ElementKind.CLASS) {
+            if (element.getKind().isInterface() || element.getKind() == ElementKind.ENUM) {
+                return null;
+            }
+            element = element.getEnclosingElement();
+        }
+        return (TypeElement) element;
+    }
+}
@@ -0,0 +1,327 @@
+package shi.vertx.container.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/*
+ * Emits plain Java mirrors of the reflective InstanceFactory / MembersInjectorImpl. Generation is skipped for a
+ * type as soon as one of its injection points cannot be reached from the generated class (private members,
+ * members of superclasses in other packages, primitives) or declares checked exceptions, the runtime keeps the
+ * reflective path for those. Members are resolved through Environment, like the reflective injector does.
+ */
+class FactoryWriter {
+
+    private static final String NAMED = "javax.inject.Named";
+    private static final String QUALIFIER = "javax.inject.Qualifier";
+    private static final String POST_CONSTRUCT = "javax.annotation.PostConstruct";
+    private static final String PARAMETERIZED_TYPE_RETENTION = "shi.vertx.container.ParameterizedTypeRetention";
+    private static final String ENVIRONMENT = "shi.vertx.container.Environment";
+
+    private final ProcessingEnvironment env;
+    private final Elements elements;
+    private final Types types;
+
+    FactoryWriter(ProcessingEnvironment env) {
+        this.env = env;
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+    }
+
+    String writeFactory(TypeElement type) throws IOException {
+        if (!isGeneratable(type)) {
+            return null;
+        }
+        var constructor = selectConstructor(type);
+        if (constructor == null || throwsChecked(constructor)) {
+            return null;
+        }
+        var injectAllParameters = hasAnnotation(constructor, ComponentProcessor.INJECT);
+        var arguments = new StringJoiner(", ");
+        for (var parameter : constructor.getParameters()) {
+            if (parameter.asType().getKind().isPrimitive()) {
+                return null;
+            }
+            arguments.add(injectAllParameters ? resolveParameter(parameter) : "null");
+        }
+        var postConstructs = new ArrayList<ExecutableElement>();
+        for (var current : hierarchy(type)) {
+            for (var method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!hasAnnotation(method, POST_CONSTRUCT)
+                        || method.getModifiers().contains(Modifier.STATIC)
+                        || !method.getParameters().isEmpty()) {
+                    continue;
+                }
+                if (!isAccessible(method, type) || throwsChecked(method)) {
+                    return null;
+                }
+                postConstructs.add(method);
+            }
+        }
+
+        var typeName = typeName(type);
+        var className = generatedName(type, "Factory");
+        var body = new StringBuilder()
+                .append("    @Override\n")
+                .append("    public Class<").append(typeName).append("> type() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public ").append(typeName).append(" get(ApplicationContext context) {\n")
+                .append("        var instance = new ").append(typeName).append('(').append(arguments).append(");\n")
+                .append("        context.inject(instance);\n");
+        for (var method : postConstructs) {
+            var declaringType = (TypeElement) method.getEnclosingElement();
+            var owner = declaringType.equals(type) ? "instance" : "((" + typeName(declaringType) + ") instance)";
+            body.append("        ").append(owner).append('.').append(method.getSimpleName()).append("();\n");
+        }
+        body.append("        return instance;\n")
+                .append("    }\n");
+        return write(type, className, ComponentProcessor.GENERATED_FACTORY, body);
+    }
+
+    String writeMembersInjector(TypeElement type) throws IOException {
+        if (!isGeneratable(type)) {
+            return null;
+        }
+        var typeName = typeName(type);
+        var statements = new StringBuilder();
+        for (var current : hierarchy(type)) {
+            var owner = current.equals(type) ? "instance" : "((" + typeName(current) + ") instance)";
+            for (var field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                //are annotated with @Inject.
+                //are not final.
+                if (!hasAnnotation(field, ComponentProcessor.INJECT) || field.getModifiers().contains(Modifier.FINAL)) {
+                    continue;
+                }
+                if (!isAccessible(field, type) || field.asType().getKind().isPrimitive()) {
+                    return null;
+                }
+                statements.append("        ").append(owner).append('.').append(field.getSimpleName())
+                        .append(" = ").append(ENVIRONMENT).append(".my(").append(erasure(field.asType())).append(".class, ")
+                        .append(elements.getConstantExpression(qualifier(field))).append(");\n");
+            }
+            for (var method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!hasAnnotation(method, ComponentProcessor.INJECT) || method.getModifiers().contains(Modifier.ABSTRACT)) {
+                    continue;
+                }
+                if (!isAccessible(method, type) || throwsChecked(method)) {
+                    return null;
+                }
+                var arguments = new StringJoiner(", ");
+                for (var parameter : method.getParameters()) {
+                    if (parameter.asType().getKind().isPrimitive()) {
+                        return null;
+                    }
+                    arguments.add(ENVIRONMENT + ".my(" + erasure(parameter.asType()) + ".class, "
+                            + elements.getConstantExpression(qualifier(parameter)) + ")");
+                }
+                statements.append("        ").append(owner).append('.').append(method.getSimpleName())
+                        .append('(').append(arguments).append(");\n");
+            }
+        }
+        if (statements.length() == 0) {
+            return null;
+        }
+
+        var className = generatedName(type, "MembersInjector");
+        var body = new StringBuilder()
+                .append("    @Override\n")
+                .append("    public Class<").append(typeName).append("> type() {\n")
+                .append("        return ").append(typeName).append(".class;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public void inject(ApplicationContext context, ").append(typeName).append(" instance) {\n")
+                .append(statements)
+                .append("    }\n");
+        return write(type, className, ComponentProcessor.GENERATED_MEMBERS_INJECTOR, body);
+    }
+
+    private String write(TypeElement type, String className, String contract, CharSequence body) throws IOException {
+        var packageName = packageOf(type).getQualifiedName().toString();
+        var qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        var file = env.getFiler().createSourceFile(qualifiedName, type);
+        try (Writer out = file.openWriter()) {
+            if (!packageName.isEmpty()) {
+                out.write("package " + packageName + ";\n\n");
+            }
+            out.write("import shi.vertx.container.ApplicationContext;\n\n");
+            out.write("@javax.annotation.processing.Generated(\"" + ComponentProcessor.class.getName() + "\")\n");
+            out.write("public final class " + className + " implements " + contract + "<" + typeName(type) + "> {\n\n");
+            out.append(body);
+            out.write("}\n");
+        }
+        return qualifiedName;
+    }
+
+    private String resolveParameter(VariableElement parameter) {
+        var type = parameter.asType();
+        var collection = declaredType("java.util.Collection");
+        if (collection != null && types.isAssignable(types.erasure(type), collection)) {
+            var arguments = ((DeclaredType) type).getTypeArguments();
+            var elementType = arguments.isEmpty() ? "Object" : erasure(arguments.get(0));
+            var instances = "context.getInstances(" + elementType + ".class)";
+            var set = declaredType("java.util.Set");
+            if (set != null && types.isAssignable(types.erasure(type), set)) {
+                instances = "new java.util.HashSet<>(" + instances + ")";
+            }
+            return "(" + erasure(type) + ") " + instances;
+        }
+        return "context.getInstance(" + erasure(type) + ".class, "
+                + elements.getConstantExpression(qualifier(parameter)) + ")";
+    }
+
+    private ExecutableElement selectConstructor(TypeElement type) {
+        ExecutableElement candidate = null;
+        for (var constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            if (hasAnnotation(constructor, ComponentProcessor.INJECT)) {
+                return constructor;
+            }
+            if (candidate == null) {
+                candidate = constructor;
+            }
+        }
+        return candidate;
+    }
+
+    private boolean isGeneratable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS
+                || type.getModifiers().contains(Modifier.ABSTRACT)
+                || !type.getTypeParameters().isEmpty()) {
+            return false;
+        }
+        var retention = declaredType(PARAMETERIZED_TYPE_RETENTION);
+        if (retention != null && types.isAssignable(type.asType(), retention)) {
+            return false;
+        }
+        Element current = type;
+        while (current instanceof TypeElement) {
+            var modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)
+                    || (current.getEnclosingElement() instanceof TypeElement && !modifiers.contains(Modifier.STATIC))) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    // Generated calls can't declare what the member throws, unchecked exceptions need no handling
+    private boolean throwsChecked(ExecutableElement executable) {
+        var runtimeException = declaredType("java.lang.RuntimeException");
+        var error = declaredType("java.lang.Error");
+        for (var thrown : executable.getThrownTypes()) {
+            if (!types.isAssignable(thrown, runtimeException) && !types.isAssignable(thrown, error)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAccessible(Element member, TypeElement generatedFor) {
+        var modifiers = member.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        var declaringType = (TypeElement) member.getEnclosingElement();
+        if (packageOf(declaringType).equals(packageOf(generatedFor))) {
+            return true;
+        }
+        return modifiers.contains(Modifier.PUBLIC) && declaringType.getModifiers().contains(Modifier.PUBLIC);
+    }
+
+    private List<TypeElement> hierarchy(TypeElement type) {
+        var hierarchy = new LinkedList<TypeElement>();
+        var current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            hierarchy.addFirst(current);
+            var superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+        }
+        return hierarchy;
+    }
+
+    String qualifier(Element element) {
+        var name = "";
+        for (var annotation : element.getAnnotationMirrors()) {
+            var annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(NAMED)) {
+                return namedValue(annotation);
+            }
+            if (hasAnnotation(annotationType, QUALIFIER)) {
+                name = annotationType.getSimpleName().toString();
+            }
+        }
+        return name;
+    }
+
+    private static String namedValue(AnnotationMirror annotation) {
+        for (var entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value")) {
+                return String.valueOf(entry.getValue().getValue());
+            }
+        }
+        return "";
+    }
+
+    static boolean hasAnnotation(Element element, String annotation) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeMirror declaredType(String name) {
+        var element = elements.getTypeElement(name);
+        return element == null ? null : types.erasure(element.asType());
+    }
+
+    private String erasure(TypeMirror type) {
+        return types.erasure(type).toString();
+    }
+
+    private String typeName(TypeElement type) {
+        return type.getQualifiedName().toString();
+    }
+
+    private PackageElement packageOf(Element element) {
+        return elements.getPackageOf(element);
+    }
+
+    private String generatedName(TypeElement type, String suffix) {
+        var name = new StringBuilder(type.getSimpleName());
+        var enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name.insert(0, ((TypeElement) enclosing).getSimpleName() + "_");
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name.append('_').append(suffix).toString();
+    }
+}
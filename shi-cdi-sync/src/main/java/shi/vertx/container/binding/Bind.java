@@ -1,6 +1,11 @@
 package shi.vertx.container.binding;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 import org.apache.commons.lang3.StringUtils;
 import shi.vertx.container.Environment;
@@ -14,13 +19,36 @@ public class Bind<T> {
     private Class<?> to;
     private boolean singleton;
     private boolean primary;
+    // Built once per type and name, lookups ask for it on every call
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Key key;
 
     public static <T> Bind<T> bind(Class<T> clazz) {
         return new Bind<T>().from(clazz);
     }
 
+    public Bind<T> from(Class<T> from) {
+        this.from = from;
+        this.key = null;
+        return this;
+    }
+
+    public Bind<T> name(String name) {
+        this.name = name;
+        this.key = null;
+        return this;
+    }
+
     public Key bindKey() {
-        return new Key(from, name);
+        var current = key;
+        if (current == null) {
+            current = new Key(from, name);
+            key = current;
+        }
+        return current;
     }
 
     public void registry() {
@@ -8,9 +8,14 @@ import shi.vertx.container.binding.Bind;
 import shi.vertx.container.binding.Key;
 import shi.vertx.container.errors.Errors;
 import shi.vertx.container.exceptions.EnvironmentException;
+import shi.vertx.container.factories.GeneratedFactory;
 import shi.vertx.container.factories.InstanceFactory;
+import shi.vertx.container.injectors.GeneratedMembersInjector;
 import shi.vertx.container.injectors.InjectorAdapter;
 import shi.vertx.container.injectors.MembersInjectorImpl;
+import shi.vertx.container.jfr.ComponentEvents;
+import shi.vertx.container.jfr.InstantiationEvent;
+import shi.vertx.container.jfr.MemberInjectionEvent;
 import shi.vertx.container.resolvers.ComponentResolver;
 import shi.vertx.container.resolvers.ImplementationResolver;
 import shi.vertx.container.resolvers.ImplementedByResolver;
@@ -24,17 +29,24 @@ public class ApplicationContextImpl implements ApplicationContext {
     private static final int RIC = 10;
     private static final float RLF = 0.85f;
 
-    private final Map<Class<? extends InjectorAdapter>, InjectorAdapter> injectors = new HashMap<>();
+    private final Map<Class<? extends InjectorAdapter>, InjectorAdapter> injectors = new ConcurrentHashMap<>(RIC, RLF);
     private final Map<Key, Bind<?>> binders = new ConcurrentHashMap<>(RIC, RLF);
     private final Map<Key, Object> holders = new ConcurrentHashMap<>(RIC, RLF);
     private final List<ImplementationResolver> implementationResolvers = new ArrayList<>();
+    private final Map<Class<?>, GeneratedFactory<?>> generatedFactories = new HashMap<>();
+    private final Map<Class<?>, GeneratedMembersInjector<?>> generatedInjectors = new HashMap<>();
     private final InternalBinder internalBinder;
+    // Binds assignable to a type, rebuilt from scratch whenever binders change
+    private volatile Map<Class<?>, List<Bind<?>>> assignable = new ConcurrentHashMap<>(RIC, RLF);
 
     public ApplicationContextImpl() {
         implementationResolvers.add(new ComponentResolver());
         implementationResolvers.add(new ImplementedByResolver());
         ServiceLoader.load(ImplementationResolver.class).forEach(implementationResolvers::add);
-        internalBinder = new InternalBinder(implementationResolvers);
+        // Compile-time factories and injectors written by shi-cdi-processor
+        ServiceLoader.load(GeneratedFactory.class).forEach(factory -> generatedFactories.put(factory.type(), factory));
+        ServiceLoader.load(GeneratedMembersInjector.class).forEach(injector -> generatedInjectors.put(injector.type(), injector));
+        internalBinder = new InternalBinder(implementationResolvers, ComponentIndex.load());
     }
 
     @Override
@@ -64,16 +76,29 @@ public class ApplicationContextImpl implements ApplicationContext {
     }
 
     private <T> T reuseOrInstantiate(Bind<T> bind) {
-        var key = bind.bindKey();
-        if (!holders.containsKey(key)) {
-            T instance = instantiate(bind);
-            if (bind.singleton()) {
+        // Warm singletons are served before the event and its capturing lambda are allocated
+        var instance = holders.get(bind.bindKey());
+        if (instance != null) {
+            //noinspection unchecked
+            return (T) instance;
+        }
+        return ComponentEvents.resolve(bind, () -> doReuseOrInstantiate(bind));
+    }
+
+    private <T> T doReuseOrInstantiate(Bind<T> bind) {
+        if (!bind.singleton()) {
+            return instantiate(bind);
+        }
+        // One creator per singleton, locks follow dependency edges so only a cycle could invert them
+        synchronized (bind) {
+            var instance = holders.get(bind.bindKey());
+            if (instance == null) {
+                instance = instantiate(bind);
                 registry(bind, instance);
             }
-            return instance;
+            //noinspection unchecked
+            return (T) instance;
         }
-        //noinspection unchecked
-        return (T) holders.get(key);
     }
 
     @Override
@@ -81,14 +106,7 @@ public class ApplicationContextImpl implements ApplicationContext {
         var binds = retrieveBinds(clazz);
         var instances = new ArrayList<T>(binds.size());
         for (var bind : binds) {
-            var key = bind.bindKey();
-            if (!holders.containsKey(key)) {
-                T instance = instantiate(bind);
-                if (bind.singleton()) {
-                    registry(bind, instance);
-                }
-                instances.add(instance);
-            }
+            instances.add(reuseOrInstantiate(bind));
         }
         return instances;
     }
@@ -101,7 +119,7 @@ public class ApplicationContextImpl implements ApplicationContext {
     @Override
     public <T> T provide(Class<T> clazz, String qualifier) {
         var bind = retrieveBind(clazz, qualifier);
-        return instantiate(bind);
+        return ComponentEvents.resolve(bind, () -> instantiate(bind));
     }
 
     @Synchronized
@@ -111,7 +129,9 @@ public class ApplicationContextImpl implements ApplicationContext {
         if (bind.primary() && retrieveBinds((Class<?>) bind.from()).stream().anyMatch(Bind::primary)) {
             throw new EnvironmentException(Errors.TOO_MANY_PRIMARY_IMPLEMENTATIONS.arguments(bind.from()));
         }
-        binders.put(bind.bindKey(), bind);
+        if (binders.put(bind.bindKey(), bind) != bind) {
+            invalidateBinds();
+        }
         return this;
     }
 
@@ -142,28 +162,52 @@ public class ApplicationContextImpl implements ApplicationContext {
 
     @Override
     public void inject(Object instance) {
+        //noinspection unchecked
+        var generated = (GeneratedMembersInjector<Object>) generatedInjectors.get(instance.getClass());
+        // Adapters are discovered at runtime, only the reflective injector knows how to apply them
+        if (generated != null && injectors.isEmpty()) {
+            ComponentEvents.record(new MemberInjectionEvent(), instance.getClass(), () -> generated.inject(this, instance));
+            return;
+        }
         var membersInject = new MembersInjectorImpl(injectors);
-        membersInject.inject(instance);
+        ComponentEvents.record(new MemberInjectionEvent(), instance.getClass(), () -> membersInject.inject(instance));
     }
 
     @Override
     public ApplicationContext release() {
         binders.clear();
         holders.clear();
+        invalidateBinds();
         return this;
     }
 
     private <T> T instantiate(Bind<T> bind) {
+        var generated = generatedFactories.get(bind.to());
+        if (generated != null) {
+            return ComponentEvents.record(new InstantiationEvent(), bind, () -> bind.from().cast(generated.get(this)));
+        }
         var provider = new InstanceFactory<>(this, bind);
         return provider.get();
     }
 
     private <T> List<Bind<T>> retrieveBinds(Class<T> clazz) {
-        return binders.entrySet()
-                .stream()
-                .filter(entry -> clazz.isAssignableFrom(entry.getKey().getType()))
-                .map(entry -> (Bind<T>) entry.getValue())
-                .collect(Collectors.toList());
+        var cache = assignable;
+        var binds = cache.get(clazz);
+        if (binds == null) {
+            binds = binders.entrySet()
+                    .stream()
+                    .filter(entry -> clazz.isAssignableFrom(entry.getKey().getType()))
+                    .map(Map.Entry::getValue)
+                    .collect(Collectors.toUnmodifiableList());
+            cache.put(clazz, binds);
+        }
+        //noinspection unchecked
+        return (List<Bind<T>>) (List<?>) binds;
+    }
+
+    // A lookup racing a change fills the discarded map, never the new one
+    private void invalidateBinds() {
+        assignable = new ConcurrentHashMap<>(RIC, RLF);
     }
 
     private <T> Bind<T> retrieveBind(Class<T> clazz, String name) {
@@ -175,10 +219,14 @@ public class ApplicationContextImpl implements ApplicationContext {
         }
         var key = new Key(clazz, name);
         // Find Bind on Container
-        var bind = binders.computeIfAbsent(key, k -> {
-            // Create Bind with magic of reflection
-            return internalBinder.createBind(key);
-        });
+        var bind = binders.get(key);
+        if (bind == null) {
+            bind = binders.computeIfAbsent(key, k -> {
+                // Create Bind with magic of reflection
+                return internalBinder.createBind(key);
+            });
+            invalidateBinds();
+        }
         return (Bind<T>) bind;
     }
 }
@@ -0,0 +1,95 @@
+package shi.vertx.container.context;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import shi.vertx.container.errors.Errors;
+import shi.vertx.container.exceptions.EnvironmentException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * The META-INF/shi-cdi/components.idx files written by shi-cdi-processor, merged across the classpath. Lookups
+ * only load the listed implementation, types missing from the index fall back to the implementation resolvers.
+ */
+class ComponentIndex {
+
+    static final String LOCATION = "META-INF/shi-cdi/components.idx";
+
+    private final Map<String, List<Entry>> entries = new HashMap<>();
+    private final ClassLoader classLoader;
+
+    private ComponentIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    static ComponentIndex load() {
+        var classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ComponentIndex.class.getClassLoader();
+        }
+        var index = new ComponentIndex(classLoader);
+        try {
+            var resources = classLoader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                index.read(resources.nextElement());
+            }
+        } catch (IOException e) {
+            throw new EnvironmentException(Errors.UNMAPPED.throwable(e));
+        }
+        return index;
+    }
+
+    private void read(URL resource) throws IOException {
+        try (var reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                var columns = line.split("\t", -1);
+                if (columns.length < 4) {
+                    continue;
+                }
+                entries.computeIfAbsent(columns[0], k -> new ArrayList<>())
+                        .add(new Entry(columns[1], columns[2], "singleton".equals(columns[3])));
+            }
+        }
+    }
+
+    Entry find(Class<?> type, String name) {
+        for (var entry : entries.getOrDefault(type.getName(), Collections.emptyList())) {
+            if (entry.qualifier.equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    Class<?> implementation(Entry entry) {
+        try {
+            return Class.forName(entry.implementation, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            // Stale index, let the resolvers decide
+            return null;
+        }
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor
+    static class Entry {
+        private final String implementation;
+        private final String qualifier;
+        private final boolean singleton;
+    }
+}
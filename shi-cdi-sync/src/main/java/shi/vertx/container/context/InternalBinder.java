@@ -18,6 +18,7 @@ import java.util.List;
 class InternalBinder {
 
     private final List<ImplementationResolver> implementationResolvers;
+    private final ComponentIndex componentIndex;
 
     public <T> Bind<T> createBind(Key key) {
         var bind = Bind.bind(key.getType()).name(key.getName());
@@ -31,6 +32,9 @@ class InternalBinder {
     }
 
     public <T> void lookupBind(Bind<T> bind) {
+        if (bind.to() == null && lookupIndex(bind)) {
+            return;
+        }
         if (bind.to() == null) {
             var finder = new InternalImplementationFinder(implementationResolvers);
             bind.to(finder.find(bind.from(), bind.name()));
@@ -47,6 +51,17 @@ class InternalBinder {
         bind.singleton(isSingleton(bind));
     }
 
+    private <T> boolean lookupIndex(Bind<T> bind) {
+        var entry = componentIndex.find(bind.from(), bind.name());
+        var implementation = entry == null ? null : componentIndex.implementation(entry);
+        if (implementation == null) {
+            return false;
+        }
+        bind.to(implementation);
+        bind.singleton(bind.singleton() || entry.singleton());
+        return true;
+    }
+
     private boolean isSingleton(Bind<?> bind) {
         return bind.singleton() || isSingleton(bind.to()) || isSingleton(bind.from());
     }
@@ -0,0 +1,10 @@
+package shi.vertx.container.factories;
+
+import shi.vertx.container.ApplicationContext;
+
+public interface GeneratedFactory<T> {
+
+    Class<T> type();
+
+    T get(ApplicationContext context);
+}
@@ -6,6 +6,11 @@ import shi.vertx.container.ParameterizedTypeRetention;
 import shi.vertx.container.binding.Bind;
 import shi.vertx.container.errors.Errors;
 import shi.vertx.container.exceptions.EnvironmentException;
+import shi.vertx.container.jfr.ComponentEvents;
+import shi.vertx.container.jfr.ConstructorSelectionEvent;
+import shi.vertx.container.jfr.InitializationEvent;
+import shi.vertx.container.jfr.InstantiationEvent;
+import shi.vertx.container.jfr.ParameterResolutionEvent;
 import shi.vertx.container.utils.ReflectionUtils;
 
 import javax.inject.Inject;
@@ -26,6 +31,18 @@ public class InstanceFactory<T> implements Factory<T> {
     }
 
     public T get() {
+        var candidate = ComponentEvents.record(new ConstructorSelectionEvent(), bind.to(), this::selectConstructor);
+        var injectAllParameters = candidate.isAnnotationPresent(Inject.class);
+        var parameters = ComponentEvents.record(new ParameterResolutionEvent(), bind,
+                () -> resolveParameters(candidate, injectAllParameters));
+        T instance = ComponentEvents.record(new InstantiationEvent(), bind, () -> instantiate(candidate, parameters));
+        // Injection is timed by the context itself
+        context.inject(instance);
+        ComponentEvents.record(new InitializationEvent(), bind, () -> postConstruct(instance.getClass(), instance));
+        return instance;
+    }
+
+    private Constructor<?> selectConstructor() {
         var constructors = allowedConstructors(bind.to());
         if (constructors.isEmpty()) {
             throw new EnvironmentException(Errors.FAILED_INSTANTIATION.arguments(bind.to().getName()));
@@ -33,17 +50,11 @@ public class InstanceFactory<T> implements Factory<T> {
         if (constructors.size() > 1 && log.isLoggable(Level.WARNING)) {
             log.warning(String.format("More than one valid constructor founded for class %s", bind.to()));
         }
-        var candidate = constructors.get(0);
-        T instance = instantiate(candidate);
-        context.inject(instance);
-        postConstruct(instance.getClass(), instance);
-        return instance;
+        return constructors.get(0);
     }
 
-    private T instantiate(Constructor<?> candidate) {
+    private T instantiate(Constructor<?> candidate, Object[] parameters) {
         try {
-            var injectAllParameters = candidate.isAnnotationPresent(Inject.class);
-            var parameters = resolveParameters(candidate, injectAllParameters);
             ReflectionUtils.makeAccessible(candidate);
             var instance = (T) candidate.newInstance(parameters);
             var type = candidate.getDeclaringClass();
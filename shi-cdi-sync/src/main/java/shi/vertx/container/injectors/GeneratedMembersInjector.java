@@ -0,0 +1,10 @@
+package shi.vertx.container.injectors;
+
+import shi.vertx.container.ApplicationContext;
+
+public interface GeneratedMembersInjector<T> {
+
+    Class<T> type();
+
+    void inject(ApplicationContext context, T instance);
+}
@@ -0,0 +1,20 @@
+package shi.vertx.container.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+@Category({"shi-cdi", "Application Context"})
+@StackTrace(false)
+public abstract class ComponentEvent extends Event {
+    @Label("Bind Key")
+    String bindKey;
+
+    // The resolution chain that asked for this bind, outermost first
+    @Label("Parent Resolution")
+    String parent;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,76 @@
+package shi.vertx.container.jfr;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import shi.vertx.container.binding.Bind;
+
+import java.util.function.Supplier;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ComponentEvents {
+
+    // Resolution is synchronous, the chain of binds being resolved lives on the resolving thread
+    private static final ThreadLocal<Frame> RESOLVING = new ThreadLocal<>();
+
+    public static <T> T resolve(Bind<?> bind, Supplier<T> step) {
+        var event = new BindResolutionEvent();
+        if (!event.isEnabled()) {
+            return step.get();
+        }
+        var frame = RESOLVING.get();
+        RESOLVING.set(new Frame(String.valueOf(bind.bindKey()), frame));
+        try {
+            return record(event, bind, frame, step);
+        } finally {
+            RESOLVING.set(frame);
+        }
+    }
+
+    // Times a step of the bind currently being resolved, without a recording it only costs the isEnabled check
+    public static <T> T record(ComponentEvent event, Object subject, Supplier<T> step) {
+        if (!event.isEnabled()) {
+            return step.get();
+        }
+        var frame = RESOLVING.get();
+        return record(event, subject, frame == null ? null : frame.parent, step);
+    }
+
+    public static void record(ComponentEvent event, Object subject, Runnable step) {
+        record(event, subject, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    private static <T> T record(ComponentEvent event, Object subject, Frame parent, Supplier<T> step) {
+        event.begin();
+        var succeeded = false;
+        try {
+            var result = step.get();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bindKey = subject instanceof Bind ? String.valueOf(((Bind<?>) subject).bindKey())
+                        : subject instanceof Class ? ((Class<?>) subject).getName()
+                        : String.valueOf(subject);
+                event.parent = parent == null ? "" : parent.toString();
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Frame {
+        private final String key;
+        private final Frame parent;
+
+        @Override
+        public String toString() {
+            return parent == null ? key : parent + " -> " + key;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package shi.vertx.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.vertx.container.Initialization")
+@Label("Initialization")
+@Description("Running the @PostConstruct methods of a component")
+public final class InitializationEvent extends ComponentEvent {
+}
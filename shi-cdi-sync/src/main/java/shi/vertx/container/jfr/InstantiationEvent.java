@@ -0,0 +1,11 @@
+package shi.vertx.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.vertx.container.Instantiation")
+@Label("Instantiation")
+@Description("Invoking the constructor of a component")
+public final class InstantiationEvent extends ComponentEvent {
+}
@@ -0,0 +1,11 @@
+package shi.vertx.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.vertx.container.MemberInjection")
+@Label("Member Injection")
+@Description("Injecting the fields and methods of a component")
+public final class MemberInjectionEvent extends ComponentEvent {
+}
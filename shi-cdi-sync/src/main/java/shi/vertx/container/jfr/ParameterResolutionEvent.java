@@ -0,0 +1,11 @@
+package shi.vertx.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.vertx.container.ParameterResolution")
+@Label("Parameter Resolution")
+@Description("Resolving the constructor parameters of a component")
+public final class ParameterResolutionEvent extends ComponentEvent {
+}
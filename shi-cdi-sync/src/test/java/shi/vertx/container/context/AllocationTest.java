@@ -0,0 +1,93 @@
+package shi.vertx.container.context;
+
+import org.junit.After;
+import org.junit.Test;
+import shi.vertx.container.ApplicationContext;
+import shi.vertx.container.Environment;
+import shi.vertx.container.binding.Bind;
+import shi.vertx.container.exceptions.EnvironmentException;
+
+import javax.inject.Singleton;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class AllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int CALLS = 100_000;
+
+    @After
+    public void tearDown() {
+        Environment.destroy();
+    }
+
+    @Test
+    public void test_warm_singleton_lookup_does_not_allocate() {
+        var ctx = ApplicationContext.create();
+        ctx.registry(Bind.bind(Warm.class));
+        ctx.registry(Bind.bind(Other.class));
+        var warm = ctx.getInstance(Warm.class);
+        assertSame(warm, ctx.getInstance(Warm.class));
+        assertWithinBudget("getInstance", 0, () -> ctx.getInstance(Warm.class));
+    }
+
+    @Test
+    public void test_warm_singleton_lookup_by_supertype_does_not_allocate() {
+        var ctx = ApplicationContext.create();
+        ctx.registry(Bind.bind(WarmService.class).to(WarmImpl.class));
+        assertTrue(ctx.getInstance(WarmService.class) instanceof WarmImpl);
+        assertWithinBudget("getInstance by supertype", 0, () -> ctx.getInstance(WarmService.class));
+    }
+
+    @Test
+    public void test_environment_my_does_not_allocate() {
+        Environment.create(ApplicationContext.create());
+        Environment.registry(Bind.bind(Warm.class));
+        assertSame(Environment.my(Warm.class), Environment.my(Warm.class));
+        assertWithinBudget("Environment.my", 0, () -> Environment.my(Warm.class));
+    }
+
+    @Test(expected = EnvironmentException.class)
+    public void test_lookup_sees_binds_registered_after_warmup() {
+        var ctx = ApplicationContext.create();
+        ctx.registry(Bind.bind(WarmService.class).to(WarmImpl.class));
+        ctx.getInstance(WarmService.class);
+        ctx.registry(Bind.bind(OtherImpl.class));
+        ctx.getInstance(WarmService.class);
+    }
+
+    // Fails when the average call allocates more than budget bytes on the calling thread
+    private static void assertWithinBudget(String path, long budget, Runnable call) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var id = Thread.currentThread().getId();
+        for (var i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        var before = threads.getThreadAllocatedBytes(id);
+        for (var i = 0; i < CALLS; i++) {
+            call.run();
+        }
+        var perCall = (threads.getThreadAllocatedBytes(id) - before) / CALLS;
+        assertTrue(path + " allocated " + perCall + " bytes per call, budget is " + budget, perCall <= budget);
+    }
+
+    @Singleton
+    static class Warm {
+    }
+
+    @Singleton
+    static class Other {
+    }
+
+    interface WarmService {
+    }
+
+    @Singleton
+    static class WarmImpl implements WarmService {
+    }
+
+    @Singleton
+    static class OtherImpl implements WarmService {
+    }
+}
@@ -0,0 +1,44 @@
+package shi.vertx.container.context;
+
+import org.junit.Test;
+import shi.vertx.container.ApplicationContext;
+import shi.vertx.container.annotations.Component;
+import shi.vertx.container.binding.Bind;
+
+import javax.inject.Named;
+
+import static org.junit.Assert.*;
+
+public class ComponentIndexTest {
+
+    @Test
+    public void test_index_lists_conventions_and_components() {
+        var index = ComponentIndex.load();
+        var greeter = index.find(Greeter.class, "");
+        assertNotNull(greeter);
+        assertEquals(GreeterImpl.class, index.implementation(greeter));
+        assertFalse(greeter.singleton());
+        var clock = index.find(Clock.class, "utc");
+        assertNotNull(clock);
+        assertTrue(clock.singleton());
+        assertNull(index.find(Clock.class, ""));
+    }
+
+    @Test
+    public void test_index_resolves_binds() {
+        var ctx = ApplicationContext.create();
+        ctx.registry(Bind.bind(Greeter.class));
+        assertTrue(ctx.getInstance(Greeter.class) instanceof GreeterImpl);
+    }
+
+    interface Greeter {
+    }
+
+    static class GreeterImpl implements Greeter {
+    }
+
+    @Component
+    @Named("utc")
+    static class Clock {
+    }
+}
@@ -0,0 +1,166 @@
+package shi.vertx.container.context;
+
+import org.junit.After;
+import org.junit.Test;
+import shi.vertx.container.ApplicationContext;
+import shi.vertx.container.Environment;
+import shi.vertx.container.binding.Bind;
+import shi.vertx.container.injectors.InjectorAdapter;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    @After
+    public void tearDown() {
+        Environment.destroy();
+    }
+
+    @Test
+    public void test_concurrent_get_registry_inject_and_add_injector() throws Exception {
+        var created = Leaf.CREATED.get();
+        var ctx = Environment.create(ApplicationContext.create());
+        ctx.registry(Bind.bind(Root.class));
+        ctx.registry(Bind.bind(Mid.class));
+        ctx.registry(Bind.bind(Leaf.class));
+        var pool = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        var callers = new ArrayList<Callable<Void>>();
+        for (var t = 0; t < THREADS; t++) {
+            var caller = t;
+            callers.add(() -> {
+                start.await();
+                for (var round = 0; round < ROUNDS; round++) {
+                    var root = ctx.getInstance(Root.class);
+                    assertSame(root.leaf, root.mid.leaf);
+                    assertSame(root.leaf, ctx.getInstance(Leaf.class));
+                    ctx.registry(Bind.bind(Extra.class).name("extra-" + caller + "-" + round).to(Extra.class));
+                    var consumer = new Consumer();
+                    ctx.inject(consumer);
+                    assertSame(root.leaf, consumer.leaf);
+                    if (round % 50 == 0) {
+                        ctx.addInjector(new NoopInjector());
+                    }
+                }
+                return null;
+            });
+        }
+        var results = new ArrayList<java.util.concurrent.Future<Void>>();
+        for (var caller : callers) {
+            results.add(pool.submit(caller));
+        }
+        start.countDown();
+        for (var result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        assertEquals(created + 1, Leaf.CREATED.get());
+        assertEquals(1, Root.CREATED.get());
+        assertEquals(THREADS * ROUNDS, ctx.getInstances(Extra.class).size());
+    }
+
+    @Test
+    public void test_concurrent_get_instances_creates_each_singleton_once() throws Exception {
+        var created = Plugin.CREATED.get();
+        var ctx = Environment.create(ApplicationContext.create());
+        ctx.registry(Bind.bind(Plugin.class).name("first").to(Plugin.class));
+        ctx.registry(Bind.bind(Plugin.class).name("second").to(Plugin.class));
+        var pool = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        var results = new ArrayList<java.util.concurrent.Future<List<Plugin>>>();
+        for (var t = 0; t < THREADS; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return ctx.getInstances(Plugin.class);
+            }));
+        }
+        start.countDown();
+        var expected = results.get(0).get(30, TimeUnit.SECONDS);
+        assertEquals(2, expected.size());
+        for (var result : results) {
+            var plugins = result.get(30, TimeUnit.SECONDS);
+            assertEquals(2, plugins.size());
+            assertTrue(plugins.containsAll(expected));
+        }
+        pool.shutdown();
+        assertEquals(created + 2, Plugin.CREATED.get());
+    }
+
+    @Singleton
+    static class Root {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+        private final Mid mid;
+        private final Leaf leaf;
+
+        @Inject
+        public Root(Mid mid, Leaf leaf) {
+            CREATED.incrementAndGet();
+            this.mid = mid;
+            this.leaf = leaf;
+        }
+    }
+
+    @Singleton
+    static class Mid {
+        private final Leaf leaf;
+
+        @Inject
+        public Mid(Leaf leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    @Singleton
+    static class Leaf {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        public Leaf() throws InterruptedException {
+            CREATED.incrementAndGet();
+            TimeUnit.MILLISECONDS.sleep(50); // NOSONAR
+        }
+    }
+
+    @Singleton
+    static class Plugin {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        public Plugin() throws InterruptedException {
+            CREATED.incrementAndGet();
+            TimeUnit.MILLISECONDS.sleep(50); // NOSONAR
+        }
+    }
+
+    static class Extra {
+    }
+
+    static class Consumer {
+        @Inject
+        Leaf leaf;
+    }
+
+    static class NoopInjector implements InjectorAdapter {
+        @Override
+        public boolean isInjectable(Field field) {
+            return false;
+        }
+
+        @Override
+        public void inject(Object instance, Field field) {
+            // Never applicable, adding it only swaps the injector set under load
+        }
+    }
+}
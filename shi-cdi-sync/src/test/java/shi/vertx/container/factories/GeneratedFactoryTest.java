@@ -0,0 +1,122 @@
+package shi.vertx.container.factories;
+
+import org.junit.Test;
+import shi.vertx.container.ApplicationContext;
+import shi.vertx.container.Environment;
+import shi.vertx.container.annotations.Component;
+import shi.vertx.container.binding.Bind;
+import shi.vertx.container.injectors.GeneratedMembersInjector;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.util.ServiceLoader;
+
+import static org.junit.Assert.*;
+
+public class GeneratedFactoryTest {
+
+    @Test
+    public void test_generated_factory_registered() {
+        var found = ServiceLoader.load(GeneratedFactory.class).stream()
+                .anyMatch(provider -> provider.type().equals(GeneratedFactoryTest_Service_Factory.class));
+        assertTrue(found);
+        var injector = ServiceLoader.load(GeneratedMembersInjector.class).stream()
+                .anyMatch(provider -> provider.type().equals(GeneratedFactoryTest_Service_MembersInjector.class));
+        assertTrue(injector);
+    }
+
+    @Test
+    public void test_generated_factory_wires_component() {
+        var ctx = Environment.create(ApplicationContext.create());
+        ctx.registry(Bind.bind(Repository.class).name("main").to(Repository.class));
+        ctx.registry(Bind.bind(Service.class));
+        var service = ctx.getInstance(Service.class);
+        assertNotNull(service.repository);
+        assertNotNull(service.other);
+        assertSame(service.repository, service.other);
+        assertTrue(service.initialized);
+        Environment.destroy();
+    }
+
+    @Test
+    public void test_checked_exceptions_fall_back_to_reflection() {
+        // These only compile because nothing is generated for them
+        var factory = ServiceLoader.load(GeneratedFactory.class).stream()
+                .anyMatch(provider -> provider.type().getSimpleName().startsWith("GeneratedFactoryTest_ThrowingConstructor"));
+        assertFalse(factory);
+        var injector = ServiceLoader.load(GeneratedMembersInjector.class).stream()
+                .anyMatch(provider -> provider.type().getSimpleName().startsWith("GeneratedFactoryTest_ThrowingMethod"));
+        assertFalse(injector);
+        var ctx = Environment.create(ApplicationContext.create());
+        ctx.registry(Bind.bind(Repository.class));
+        ctx.registry(Bind.bind(ThrowingConstructor.class));
+        ctx.registry(Bind.bind(ThrowingMethod.class));
+        assertNotNull(ctx.getInstance(ThrowingConstructor.class));
+        assertNotNull(ctx.getInstance(ThrowingMethod.class).repository);
+        Environment.destroy();
+    }
+
+    @Test
+    public void test_private_members_fall_back_to_reflection() {
+        var ctx = Environment.create(ApplicationContext.create());
+        ctx.registry(Bind.bind(Repository.class));
+        ctx.registry(Bind.bind(PrivateService.class));
+        var found = ServiceLoader.load(GeneratedMembersInjector.class).stream()
+                .anyMatch(provider -> provider.type().getSimpleName().startsWith("GeneratedFactoryTest_PrivateService"));
+        assertFalse(found);
+        var service = ctx.getInstance(PrivateService.class);
+        assertNotNull(service.repository);
+        Environment.destroy();
+    }
+
+    @Component
+    static class Service {
+        @Inject
+        @Named("main")
+        Repository repository;
+        Repository other;
+        boolean initialized;
+
+        @Inject
+        void other(@Named("main") Repository other) {
+            this.other = other;
+        }
+
+        @PostConstruct
+        void init() {
+            initialized = true;
+        }
+    }
+
+    @Component
+    static class PrivateService {
+        @Inject
+        private Repository repository;
+    }
+
+    @Component
+    static class ThrowingConstructor {
+        @Inject
+        ThrowingConstructor(Repository repository) throws IOException {
+            if (repository == null) {
+                throw new IOException("No repository");
+            }
+        }
+    }
+
+    @Component
+    static class ThrowingMethod {
+        Repository repository;
+
+        @Inject
+        void repository(Repository repository) throws Exception {
+            this.repository = repository;
+        }
+    }
+
+    @Component
+    static class Repository {
+    }
+}
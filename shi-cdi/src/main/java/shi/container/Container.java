@@ -1,10 +1,12 @@
 package shi.container;
 
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import shi.container.factory.InstanceFactory;
 import shi.container.injectors.FieldInjector;
 import shi.container.internal.ContainerImpl;
+import shi.container.metrics.ContainerMetrics;
 import shi.container.bind.Bind;
 
 import java.util.List;
@@ -18,8 +20,16 @@ public interface Container {
         return new ContainerImpl(vertx);
     }
 
+    static Container create(Vertx vertx, ContainerOptions options) {
+        return new ContainerImpl(vertx, options);
+    }
+
     Vertx vertx();
 
+    ContainerOptions options();
+
+    ContainerMetrics metrics();
+
     Container addInjector(FieldInjector injector);
 
     <T> Future<T> createInstance(Class<T> type);
@@ -38,5 +48,18 @@ public interface Container {
 
     <T> void registry(Bind<T> bind, InstanceFactory<T> instance);
 
+    // Starts a unit of work on a duplicate of the current context, or on the current one when it is already a duplicate
+    Context beginScope();
+
+    Future<Void> endScope(Context context);
+
+    // Registers a bind for every @Provides method of the module
+    void install(Object module);
+
+    Future<Void> preInstantiateSingletons();
+
     Future<Void> close();
+
+    // Like close, reporting how each DisposableComponent was destroyed
+    Future<ShutdownReport> shutdown();
 }
@@ -0,0 +1,68 @@
+package shi.container;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import shi.container.bind.Execution;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Accessors(fluent = true)
+public class ContainerOptions {
+    // Resolve and apply injection points one after another, as before parallel injection
+    private boolean sequentialInjection;
+    // Milliseconds a single DisposableComponent may take to destroy before shutdown moves on
+    private long destroyTimeout = 10_000;
+    // Milliseconds the whole shutdown may take, components not started by then are skipped
+    private long shutdownTimeout = 30_000;
+    // Milliseconds after which a completed destroy is reported as slow
+    private long slowDestroyThreshold = 1_000;
+    // Where the resolved graph of a clean startup is kept for warm restarts, disabled when null
+    private Path snapshotFile;
+    // Collect creation latencies, singleton hit ratios and worker pool time, see Container.metrics()
+    private boolean metricsEnabled;
+    // Where components without a declared Execution are built, INLINE, WORKER or ADAPTIVE
+    private Execution execution = Execution.WORKER;
+    // Microseconds a construction step of an ADAPTIVE component may take and still run inline
+    private long adaptiveInlineThreshold = 100;
+    // Milliseconds an inline step may hold an event loop before its component is warned about and kept off it
+    private long eventLoopBlockedThreshold = 10;
+    // Name of the worker pool the container creates components on, apart from the application's
+    private String workerPoolName = "shi-container";
+    // Threads of the container pool and of every named pool declared by @ExecuteOn without its own size
+    private int workerPoolSize = 8;
+    // Threads of named @ExecuteOn pools, keyed by pool name
+    private Map<String, Integer> poolSizes = new HashMap<>();
+    // Run blocking construction on virtual threads instead of the worker pool, needs Java 21
+    private boolean virtualThreads;
+
+    // Every field, ContainerOptionsTest fails when one is added here but not copied
+    public ContainerOptions copy() {
+        var copy = new ContainerOptions();
+        copy.sequentialInjection = sequentialInjection;
+        copy.destroyTimeout = destroyTimeout;
+        copy.shutdownTimeout = shutdownTimeout;
+        copy.slowDestroyThreshold = slowDestroyThreshold;
+        copy.snapshotFile = snapshotFile;
+        copy.metricsEnabled = metricsEnabled;
+        copy.execution = execution;
+        copy.adaptiveInlineThreshold = adaptiveInlineThreshold;
+        copy.eventLoopBlockedThreshold = eventLoopBlockedThreshold;
+        copy.workerPoolName = workerPoolName;
+        copy.workerPoolSize = workerPoolSize;
+        copy.poolSizes = new HashMap<>(poolSizes);
+        copy.virtualThreads = virtualThreads;
+        return copy;
+    }
+
+    public ContainerOptions poolSize(String pool, int size) {
+        poolSizes.put(pool, size);
+        return this;
+    }
+
+    public int poolSize(String pool) {
+        return poolSizes.getOrDefault(pool, workerPoolSize);
+    }
+}
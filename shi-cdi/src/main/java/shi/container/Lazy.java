@@ -0,0 +1,9 @@
+package shi.container;
+
+import io.vertx.core.Future;
+
+public interface Lazy<T> {
+
+    // Resolved on the first call, every later call returns the same component
+    Future<T> get();
+}
@@ -0,0 +1,9 @@
+package shi.container;
+
+import io.vertx.core.Future;
+
+public interface Provider<T> {
+
+    // Resolved on every call, following the scope of the bind
+    Future<T> get();
+}
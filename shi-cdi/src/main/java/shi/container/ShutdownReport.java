@@ -0,0 +1,70 @@
+package shi.container;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+import shi.container.bind.Key;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+@ToString
+public class ShutdownReport {
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    public void record(Key component, Outcome outcome, long elapsedMillis, Throwable cause) {
+        entries.add(new Entry(component, outcome, elapsedMillis, cause));
+    }
+
+    public List<Entry> entries() {
+        return new ArrayList<>(entries);
+    }
+
+    public List<Entry> slow() {
+        return filter(Outcome.SLOW);
+    }
+
+    public List<Entry> timedOut() {
+        return filter(Outcome.TIMED_OUT);
+    }
+
+    public List<Entry> failed() {
+        return filter(Outcome.FAILED);
+    }
+
+    public List<Entry> skipped() {
+        return filter(Outcome.SKIPPED);
+    }
+
+    private List<Entry> filter(Outcome outcome) {
+        return entries.stream()
+                .filter(entry -> entry.outcome == outcome)
+                .collect(Collectors.toList());
+    }
+
+    @Getter
+    @ToString
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final Key component;
+        private final Outcome outcome;
+        private final long elapsedMillis;
+        private final Throwable cause;
+    }
+
+    public enum Outcome {
+        DESTROYED,
+        // Destroyed, but slower than ContainerOptions.slowDestroyThreshold
+        SLOW,
+        FAILED,
+        // Still running when its deadline passed, shutdown moved on without it
+        TIMED_OUT,
+        // Never started because the overall shutdown deadline had passed
+        SKIPPED
+    }
+}
@@ -0,0 +1,6 @@
+package shi.container.accessors;
+
+public interface ConstructorAccessor {
+
+    Object newInstance(Object[] parameters);
+}
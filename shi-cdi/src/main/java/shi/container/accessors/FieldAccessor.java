@@ -0,0 +1,6 @@
+package shi.container.accessors;
+
+public interface FieldAccessor {
+
+    void set(Object instance, Object value);
+}
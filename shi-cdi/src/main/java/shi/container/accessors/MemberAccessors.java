@@ -0,0 +1,113 @@
+package shi.container.accessors;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import shi.container.utils.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MemberAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    // Held by the declaring class, so accessors are dropped together with its class loader
+    private static final ClassValue<Map<Member, Object>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<Member, Object> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(8);
+        }
+    };
+
+    public static ConstructorAccessor of(Constructor<?> constructor) {
+        return (ConstructorAccessor) accessors(constructor).computeIfAbsent(constructor, c -> compile((Constructor<?>) c));
+    }
+
+    public static FieldAccessor of(Field field) {
+        return (FieldAccessor) accessors(field).computeIfAbsent(field, f -> compile((Field) f));
+    }
+
+    public static MethodAccessor of(Method method) {
+        return (MethodAccessor) accessors(method).computeIfAbsent(method, m -> compile((Method) m));
+    }
+
+    private static Map<Member, Object> accessors(Member member) {
+        return ACCESSORS.get(member.getDeclaringClass());
+    }
+
+    @SneakyThrows
+    private static ConstructorAccessor compile(Constructor<?> constructor) {
+        ReflectionUtils.makeAccessible(constructor);
+        var handle = LOOKUP.unreflectConstructor(constructor);
+        var count = constructor.getParameterCount();
+        handle = handle.asType(MethodType.genericMethodType(count))
+                .asSpreader(Object[].class, count);
+        return new HandleConstructorAccessor(handle);
+    }
+
+    @SneakyThrows
+    private static FieldAccessor compile(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        var handle = LOOKUP.unreflectSetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return new HandleFieldAccessor(handle.asType(MethodType.methodType(void.class, Object.class, Object.class)));
+    }
+
+    @SneakyThrows
+    private static MethodAccessor compile(Method method) {
+        ReflectionUtils.makeAccessible(method);
+        var handle = LOOKUP.unreflect(method);
+        var count = method.getParameterCount();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        handle = handle.asType(MethodType.genericMethodType(count + 1))
+                .asSpreader(Object[].class, count);
+        return new HandleMethodAccessor(handle);
+    }
+
+    @RequiredArgsConstructor
+    private static final class HandleConstructorAccessor implements ConstructorAccessor {
+        private final MethodHandle handle;
+
+        @Override
+        @SneakyThrows
+        public Object newInstance(Object[] parameters) {
+            return (Object) handle.invokeExact(parameters);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class HandleFieldAccessor implements FieldAccessor {
+        private final MethodHandle handle;
+
+        @Override
+        @SneakyThrows
+        public void set(Object instance, Object value) {
+            handle.invokeExact(instance, value);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class HandleMethodAccessor implements MethodAccessor {
+        private final MethodHandle handle;
+
+        @Override
+        @SneakyThrows
+        public Object invoke(Object instance, Object[] parameters) {
+            return (Object) handle.invokeExact(instance, parameters);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package shi.container.accessors;
+
+public interface MethodAccessor {
+
+    Object invoke(Object instance, Object[] parameters);
+}
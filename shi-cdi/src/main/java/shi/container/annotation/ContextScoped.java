@@ -0,0 +1,11 @@
+package shi.container.annotation;
+
+import java.lang.annotation.*;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({
+        ElementType.TYPE
+})
+public @interface ContextScoped {
+}
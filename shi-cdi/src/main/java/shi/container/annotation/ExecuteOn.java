@@ -0,0 +1,18 @@
+package shi.container.annotation;
+
+import shi.container.bind.Execution;
+
+import java.lang.annotation.*;
+
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({
+        ElementType.TYPE,
+        ElementType.METHOD
+})
+public @interface ExecuteOn {
+    Execution value();
+
+    // Name of the worker pool for Execution.POOL, components naming the same pool share it
+    String pool() default "";
+}
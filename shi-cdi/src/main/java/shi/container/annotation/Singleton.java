@@ -5,7 +5,8 @@ import java.lang.annotation.*;
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
 @Target({
-        ElementType.TYPE
+        ElementType.TYPE,
+        ElementType.METHOD
 })
 public @interface Singleton {
 }
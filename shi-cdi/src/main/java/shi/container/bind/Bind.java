@@ -2,7 +2,11 @@ package shi.container.bind;
 
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
 @Data
@@ -14,6 +18,17 @@ public class Bind<T> {
     private Class<?> to;
     private boolean singleton;
     private boolean primary;
+    private boolean contextScoped;
+    private boolean unitScoped;
+    // Null until declared, construction then runs on the container pool and afterPropertiesSet in place
+    private Execution execution;
+    private String pool = "";
+    // Built once per name, lookups and registries ask for it on every call
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Key key;
 
     public static <T> Bind<T> bind(Class<T> clazz) {
         return new Bind<>(clazz);
@@ -24,11 +39,17 @@ public class Bind<T> {
             return this;
         }
         this.name = name;
+        this.key = null;
         return this;
     }
 
     public Key bindKey() {
-        return new Key(from, name);
+        var current = key;
+        if (current == null) {
+            current = new Key(from, name);
+            key = current;
+        }
+        return current;
     }
 
 }
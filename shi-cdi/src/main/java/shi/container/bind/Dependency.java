@@ -0,0 +1,71 @@
+package shi.container.bind;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import shi.container.Lazy;
+import shi.container.Provider;
+import shi.container.utils.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Set;
+
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Dependency {
+    private final Class<?> type;
+    private final String name;
+    private final Kind kind;
+
+    public static Dependency of(Parameter parameter) {
+        return of(parameter.getType(), parameter.getParameterizedType(), ReflectionUtils.getQualifier(parameter));
+    }
+
+    public static Dependency of(Field field) {
+        return of(field.getType(), field.getGenericType(), ReflectionUtils.getQualifier(field));
+    }
+
+    private static Dependency of(Class<?> type, Type genericType, String name) {
+        if (Collection.class.isAssignableFrom(type)) {
+            return new Dependency(typeArgument(genericType), name, Set.class.isAssignableFrom(type) ? Kind.SET : Kind.LIST);
+        }
+        if (Lazy.class.equals(type)) {
+            return new Dependency(typeArgument(genericType), name, Kind.LAZY);
+        }
+        if (Provider.class.equals(type)) {
+            return new Dependency(typeArgument(genericType), name, Kind.PROVIDER);
+        }
+        return new Dependency(type, name, Kind.INSTANCE);
+    }
+
+    private static Class<?> typeArgument(Type genericType) {
+        var argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        if (argument instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) argument).getRawType();
+        }
+        return (Class<?>) argument;
+    }
+
+    public Key key() {
+        return new Key(type, name);
+    }
+
+    // Lazy and Provider injection points are resolved on demand, not before their consumer
+    public boolean deferred() {
+        return kind == Kind.LAZY || kind == Kind.PROVIDER;
+    }
+
+    public enum Kind {
+        INSTANCE,
+        LIST,
+        SET,
+        LAZY,
+        PROVIDER
+    }
+}
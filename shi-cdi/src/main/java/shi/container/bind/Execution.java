@@ -0,0 +1,13 @@
+package shi.container.bind;
+
+// Where construction and afterPropertiesSet of a component run
+public enum Execution {
+    // On the calling thread, for constructors that never block
+    INLINE,
+    // On the container's own worker pool
+    WORKER,
+    // On a worker pool of its own, named by @ExecuteOn.pool
+    POOL,
+    // Inline once measured steps stay under ContainerOptions.adaptiveInlineThreshold, on the container pool otherwise
+    ADAPTIVE
+}
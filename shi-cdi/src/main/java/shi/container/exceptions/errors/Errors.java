@@ -29,6 +29,18 @@ public abstract class Errors {
     public static final ErrorType INVALID_BINDING = ErrorType.create(1009,
             "The binding from '%s' with Qualifier [%s] to '%s' invalid. The '%s' must be not interface or abstract class."
     );
+    public static final ErrorType NO_ACTIVE_CONTEXT = ErrorType.create(1010,
+            "The implementation of class %s with Qualifier [%s] is context scoped and must be resolved on a Vert.x context."
+    );
+    public static final ErrorType NO_ACTIVE_SCOPE = ErrorType.create(1011,
+            "The implementation of class %s with Qualifier [%s] is unit scoped and must be resolved inside Container.beginScope()."
+    );
+    public static final ErrorType INVALID_PROVIDER = ErrorType.create(1012,
+            "The @Provides method %s is invalid: %s."
+    );
+    public static final ErrorType INVALID_EXECUTION = ErrorType.create(1013,
+            "The implementation of class %s with Qualifier [%s] runs on Execution.POOL and must name its pool."
+    );
 
     public static final ErrorType UNMAPPED = ErrorType.create(1999, "Environment Exception called by another Throwable.");
 }
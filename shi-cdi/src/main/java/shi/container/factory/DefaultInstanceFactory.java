@@ -2,38 +2,32 @@ package shi.container.factory;
 
 import io.vertx.core.Future;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.java.Log;
-import shi.container.annotation.Inject;
 import shi.container.bind.Bind;
 import shi.container.exceptions.EnvironmentException;
 import shi.container.exceptions.errors.Errors;
 import shi.container.internal.ContainerImpl;
+import shi.container.internal.Resolution;
+import shi.container.jfr.ComponentEvents;
+import shi.container.jfr.InitializationEvent;
+import shi.container.jfr.InstantiationEvent;
+import shi.container.jfr.ParameterResolutionEvent;
 import shi.container.lifecircle.InitializingComponent;
-import shi.container.utils.ReflectionUtils;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Modifier;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.List;
-import java.util.logging.Level;
-import java.util.stream.Collectors;
-
-@Log
 @RequiredArgsConstructor
 public class DefaultInstanceFactory<T> implements InstanceFactory<T> {
     private final ContainerImpl context;
     private final Bind<T> bind;
+    private final Resolution resolution;
 
     @Override
     public Future<T> create() {
-        var vertx = context.vertx();
-        return vertx.executeBlocking(this::findConstructor, false)
+        return context.execute(bind, () -> context.plan(bind.to()))
                 .compose(this::instantiate)
-                .compose(context::inject)
+                .compose(instance -> context.inject(instance, resolution))
                 .compose(instance -> {
                     if (instance instanceof InitializingComponent) {
-                        return ((InitializingComponent) instance).afterPropertiesSet()
+                        return ComponentEvents.record(new InitializationEvent(), bind, resolution.parent(),
+                                        () -> afterPropertiesSet((InitializingComponent) instance))
                                 .map(instance);
                     }
                     return Future.succeededFuture(instance);
@@ -41,22 +35,10 @@ public class DefaultInstanceFactory<T> implements InstanceFactory<T> {
                 .map(bind.from()::cast);
     }
 
-    private Constructor<?> findConstructor() {
-        var constructors = allowedConstructors(bind.to());
-        if (constructors.isEmpty()) {
-            throw new EnvironmentException(Errors.FAILED_INSTANTIATION.arguments(bind.to().getName()));
-        }
-        if (constructors.size() > 1 && log.isLoggable(Level.WARNING)) {
-            log.warning(String.format("More than one valid constructor founded for class %s", bind.to()));
-        }
-        return constructors.get(0);
-    }
-
-
-    private Future<T> instantiate(Constructor<?> candidate) {
-        var vertx = context.vertx();
-        var injectAllParameters = candidate.isAnnotationPresent(Inject.class) || candidate.getDeclaringClass().getConstructors().length == 1;
-        return resolveParameters(candidate, injectAllParameters)
+    private Future<T> instantiate(InstantiationPlan plan) {
+        var candidate = plan.constructor();
+        return ComponentEvents.record(new ParameterResolutionEvent(), bind, resolution.parent(),
+                        () -> context.resolveDependencies(plan.parameters(), resolution))
                 .recover(t -> {
                     if (t instanceof EnvironmentException && ((EnvironmentException) t).getError().code() == Errors.CIRCULAR_INJECTION.code())
                         throw new EnvironmentException(Errors.FAILED_INSTANTIATION
@@ -65,28 +47,27 @@ public class DefaultInstanceFactory<T> implements InstanceFactory<T> {
                         );
                     return Future.failedFuture(t);
                 })
-                .compose(parameters -> vertx.executeBlocking(() -> newInstance(candidate, parameters), false));
+                .compose(parameters -> ComponentEvents.record(new InstantiationEvent(), bind, resolution.parent(),
+                        () -> context.execute(bind, () -> newInstance(plan, parameters))));
     }
 
-    private static <T> T newInstance(Constructor<?> candidate, Object[] parameters) {
+    // Undeclared components keep initializing in place, only an explicit Execution moves it
+    private Future<Void> afterPropertiesSet(InitializingComponent instance) {
+        if (bind.execution() == null) {
+            return instance.afterPropertiesSet();
+        }
+        return context.execute(bind, instance::afterPropertiesSet).compose(future -> future);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T newInstance(InstantiationPlan plan, Object[] parameters) {
         try {
-            return ReflectionUtils.newInstance(candidate, parameters);
+            return (T) plan.accessor().newInstance(parameters);
         } catch (Exception e) {
             throw new EnvironmentException(Errors.FAILED_INSTANTIATION
-                    .arguments(candidate.getDeclaringClass())
+                    .arguments(plan.constructor().getDeclaringClass())
                     .throwable(e)
             );
         }
     }
-
-    private Future<Object[]> resolveParameters(Constructor<?> candidate, boolean injectAllParameters) {
-        return context.resolveParameters(candidate.getParameters(), injectAllParameters);
-    }
-
-    private List<Constructor<?>> allowedConstructors(Class<?> clazz) {
-        return Arrays.stream(clazz.getDeclaredConstructors())
-                .filter(c -> !Modifier.isPrivate(c.getModifiers()))
-                .sorted(Comparator.comparing(c -> c.isAnnotationPresent(Inject.class) ? 0 : 1))
-                .collect(Collectors.toList());
-    }
 }
@@ -0,0 +1,102 @@
+package shi.container.factory;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.extern.java.Log;
+import shi.container.accessors.ConstructorAccessor;
+import shi.container.accessors.MemberAccessors;
+import shi.container.annotation.Inject;
+import shi.container.bind.Dependency;
+import shi.container.exceptions.EnvironmentException;
+import shi.container.exceptions.errors.Errors;
+import shi.container.jfr.ComponentEvents;
+import shi.container.jfr.ConstructorSelectionEvent;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Log
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InstantiationPlan {
+    private static final ClassValue<InstantiationPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected InstantiationPlan computeValue(Class<?> type) {
+            return ComponentEvents.record(new ConstructorSelectionEvent(), type, () -> compute(type));
+        }
+    };
+
+    private static final Map<String, Class<?>> PRIMITIVES = Stream.of(boolean.class, byte.class, char.class, short.class,
+                    int.class, long.class, float.class, double.class)
+            .collect(Collectors.toMap(Class::getName, type -> type));
+
+    private final Constructor<?> constructor;
+    private final ConstructorAccessor accessor;
+    // One entry per constructor parameter, null when the parameter is not injected
+    private final Dependency[] parameters;
+
+    public static InstantiationPlan of(Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    // A plan for a constructor recorded by a graph snapshot, selects as usual when the record is stale
+    public static InstantiationPlan of(Class<?> type, String[] parameterTypes) {
+        var preferred = preferred(type, parameterTypes);
+        if (preferred == null) {
+            return of(type);
+        }
+        return ComponentEvents.record(new ConstructorSelectionEvent(), type, () -> plan(preferred));
+    }
+
+    private static InstantiationPlan compute(Class<?> type) {
+        var constructors = allowedConstructors(type);
+        if (constructors.isEmpty()) {
+            throw new EnvironmentException(Errors.FAILED_INSTANTIATION.arguments(type.getName()));
+        }
+        if (constructors.size() > 1 && log.isLoggable(Level.WARNING)) {
+            log.warning(String.format("More than one valid constructor founded for class %s", type));
+        }
+        return plan(constructors.get(0));
+    }
+
+    private static InstantiationPlan plan(Constructor<?> candidate) {
+        var injectAllParameters = candidate.isAnnotationPresent(Inject.class) || candidate.getDeclaringClass().getConstructors().length == 1;
+        var parameters = Arrays.stream(candidate.getParameters())
+                .map(param -> injectAllParameters || param.isAnnotationPresent(Inject.class) ? Dependency.of(param) : null)
+                .toArray(Dependency[]::new);
+        return new InstantiationPlan(candidate, MemberAccessors.of(candidate), parameters);
+    }
+
+    private static Constructor<?> preferred(Class<?> type, String[] parameterTypes) {
+        try {
+            var classes = new Class<?>[parameterTypes.length];
+            for (var i = 0; i < parameterTypes.length; i++) {
+                classes[i] = PRIMITIVES.containsKey(parameterTypes[i])
+                        ? PRIMITIVES.get(parameterTypes[i])
+                        : Class.forName(parameterTypes[i], false, type.getClassLoader());
+            }
+            var constructor = type.getDeclaredConstructor(classes);
+            return Modifier.isPrivate(constructor.getModifiers()) ? null : constructor;
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            // Stale hint
+            return null;
+        }
+    }
+
+    private static List<Constructor<?>> allowedConstructors(Class<?> clazz) {
+        return Arrays.stream(clazz.getDeclaredConstructors())
+                .filter(c -> !Modifier.isPrivate(c.getModifiers()))
+                .sorted(Comparator.comparing(c -> c.isAnnotationPresent(Inject.class) ? 0 : 1))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,106 @@
+package shi.container.factory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import shi.container.accessors.MemberAccessors;
+import shi.container.accessors.MethodAccessor;
+import shi.container.bind.Bind;
+import shi.container.bind.Dependency;
+import shi.container.exceptions.EnvironmentException;
+import shi.container.exceptions.errors.Errors;
+import shi.container.internal.ContainerImpl;
+import shi.container.internal.Resolution;
+import shi.container.lifecircle.DisposableComponent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Produces a bind by calling a @Provides method of an installed module, singletons are created once
+public class ProviderMethodFactory<T> implements InstanceFactory<T>, DisposableComponent {
+    private final ContainerImpl context;
+    private final Bind<T> bind;
+    private final Object module;
+    private final Method method;
+    private final MethodAccessor accessor;
+    private final Dependency[] parameters;
+    private final AtomicReference<Future<T>> singleton = new AtomicReference<>();
+
+    public ProviderMethodFactory(ContainerImpl context, Bind<T> bind, Object module, Method method) {
+        this.context = context;
+        this.bind = bind;
+        this.module = module;
+        this.method = method;
+        this.accessor = MemberAccessors.of(method);
+        this.parameters = new Dependency[method.getParameterCount()];
+        var methodParameters = method.getParameters();
+        for (var i = 0; i < methodParameters.length; i++) {
+            parameters[i] = Dependency.of(methodParameters[i]);
+        }
+    }
+
+    public Dependency[] parameters() {
+        return parameters;
+    }
+
+    @Override
+    public Future<T> create() {
+        return create(Resolution.ROOT.child(bind));
+    }
+
+    // Continues the caller's resolution chain so cycles through provider parameters are detected
+    public Future<T> create(Resolution resolution) {
+        if (!bind.singleton()) {
+            return provide(resolution);
+        }
+        var current = singleton.get();
+        if (current != null) {
+            return current;
+        }
+        // No lock is held while the parameters resolve, a concurrent caller attaches to the pending future
+        var promise = Promise.<T>promise();
+        var inflight = singleton.compareAndExchange(null, promise.future());
+        if (inflight != null) {
+            return inflight;
+        }
+        provide(resolution).onComplete(ar -> {
+            if (ar.failed()) {
+                // Allow a later lookup to retry a failed provision
+                singleton.compareAndSet(promise.future(), null);
+            }
+            promise.handle(ar);
+        });
+        return promise.future();
+    }
+
+    private Future<T> provide(Resolution resolution) {
+        return context.resolveDependencies(parameters, resolution)
+                .compose(arguments -> context.execute(bind, () -> invoke(arguments)));
+    }
+
+    private T invoke(Object[] arguments) {
+        Object instance;
+        try {
+            instance = accessor.invoke(module, arguments);
+        } catch (Exception e) {
+            throw new EnvironmentException(Errors.INVALID_PROVIDER
+                    .arguments(method, "it threw " + e)
+                    .throwable(e)
+            );
+        }
+        if (instance == null) {
+            throw new EnvironmentException(Errors.INVALID_PROVIDER
+                    .arguments(method, "returned null")
+            );
+        }
+        return bind.from().cast(instance);
+    }
+
+    @Override
+    public Future<Void> destroy() {
+        var current = singleton.getAndSet(null);
+        if (current != null && current.succeeded() && current.result() instanceof DisposableComponent) {
+            return ((DisposableComponent) current.result()).destroy();
+        }
+        return Future.succeededFuture();
+    }
+}
@@ -0,0 +1,106 @@
+package shi.container.injectors.impl;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import shi.container.accessors.MemberAccessors;
+import shi.container.accessors.FieldAccessor;
+import shi.container.accessors.MethodAccessor;
+import shi.container.annotation.Inject;
+import shi.container.bind.Dependency;
+import shi.container.injectors.FieldInjector;
+import shi.container.utils.AnnotationUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class InjectionPlan {
+    private static final InjectionPlan EMPTY = new InjectionPlan(Collections.emptyList());
+
+    // Ordered from the top of the hierarchy down: fields of a class, then its methods
+    private final List<Step> steps;
+
+    public static InjectionPlan of(Class<?> type, Collection<FieldInjector> injectors) {
+        var steps = new ArrayList<Step>();
+        collect(type, injectors, steps);
+        return steps.isEmpty() ? EMPTY : new InjectionPlan(List.copyOf(steps));
+    }
+
+    private static void collect(Class<?> type, Collection<FieldInjector> injectors, List<Step> steps) {
+        if (type == null || Object.class.equals(type)) {
+            return;
+        }
+        // Recursive call to resolve superclass
+        collect(type.getSuperclass(), injectors, steps);
+        for (var field : type.getDeclaredFields()) {
+            //are annotated with @Inject.
+            //are not final.
+            //may have any otherwise valid name.
+            if (!field.isAnnotationPresent(Inject.class) || Modifier.isFinal(field.getModifiers())) {
+                var applicable = new ArrayList<FieldInjector>();
+                for (var injector : injectors) {
+                    if (injector.isInjectable(field)) {
+                        applicable.add(injector);
+                    }
+                }
+                if (!applicable.isEmpty()) {
+                    steps.add(new AdapterStep(field, List.copyOf(applicable)));
+                }
+                continue;
+            }
+            steps.add(new FieldStep(field, MemberAccessors.of(field), Dependency.of(field)));
+        }
+        for (var method : type.getDeclaredMethods()) {
+            if (Modifier.isAbstract(method.getModifiers()) || !AnnotationUtils.hasAnnotation(method, Inject.class)) {
+                continue;
+            }
+            var parameters = Arrays.stream(method.getParameters())
+                    .map(Dependency::of)
+                    .toArray(Dependency[]::new);
+            steps.add(new MethodStep(method, MemberAccessors.of(method), parameters));
+        }
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    public interface Step {
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class FieldStep implements Step {
+        private final Field field;
+        private final FieldAccessor accessor;
+        private final Dependency dependency;
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class MethodStep implements Step {
+        private final Method method;
+        private final MethodAccessor accessor;
+        private final Dependency[] parameters;
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class AdapterStep implements Step {
+        private final Field field;
+        private final List<FieldInjector> injectors;
+    }
+}
@@ -1,85 +1,112 @@
 package shi.container.injectors.impl;
 
 import io.vertx.core.Future;
-import lombok.RequiredArgsConstructor;
-import shi.container.annotation.Inject;
 import shi.container.injectors.FieldInjector;
 import shi.container.injectors.MembersInjector;
+import shi.container.injectors.impl.InjectionPlan.AdapterStep;
+import shi.container.injectors.impl.InjectionPlan.FieldStep;
+import shi.container.injectors.impl.InjectionPlan.MethodStep;
 import shi.container.internal.ContainerImpl;
-import shi.container.utils.AnnotationUtils;
-import shi.container.utils.ReflectionUtils;
+import shi.container.internal.Resolution;
+import shi.container.jfr.ComponentEvents;
+import shi.container.jfr.MemberInjectionEvent;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Map;
 
-@RequiredArgsConstructor
 public final class MembersInjectorImpl implements MembersInjector {
 
     private final ContainerImpl context;
-    private final Map<Class<? extends FieldInjector>, FieldInjector> injectors;
+    private final ClassValue<InjectionPlan> plans;
+
+    public MembersInjectorImpl(ContainerImpl context, Map<Class<? extends FieldInjector>, FieldInjector> injectors) {
+        this.context = context;
+        this.plans = new ClassValue<>() {
+            @Override
+            protected InjectionPlan computeValue(Class<?> type) {
+                return InjectionPlan.of(type, injectors.values());
+            }
+        };
+    }
+
+    public InjectionPlan plan(Class<?> type) {
+        return plans.get(type);
+    }
 
     @Override
     public Future<Void> inject(Object instance) {
-        var clazz = instance.getClass();
-        return inject(clazz, instance);
+        return inject(instance, Resolution.ROOT);
     }
 
-    private Future<Void> inject(Class<?> type, Object instance) {
-        if (type == null || Object.class.equals(type)) {
+    public Future<Void> inject(Object instance, Resolution resolution) {
+        var plan = plans.get(instance.getClass());
+        if (plan.isEmpty()) {
             return Future.succeededFuture();
         }
-        // Recursive call to resolve superclass
-        return inject(type.getSuperclass(), instance)
-                .compose(v -> injectFields(type, instance))
-                .compose(v -> injectMethods(type, instance));
+        var subject = resolution.bind() != null ? resolution.bind() : instance.getClass();
+        var parent = resolution.parent();
+        return ComponentEvents.record(new MemberInjectionEvent(), subject, parent, () -> inject(plan, instance, resolution));
     }
 
-    private Future<Void> injectMethods(Class<?> type, Object instance) {
-        var future = Future.<Void>succeededFuture();
-        var methods = ReflectionUtils.findDeclaredMethods(type,
-                method -> AnnotationUtils.hasAnnotation(method, Inject.class),
-                method -> !Modifier.isAbstract(method.getModifiers())
-        );
-        for (var method : methods) {
-            future = future.compose(v2 -> context
-                    .resolveParameters(method.getParameters(), true)
-                    .map(parameters -> {
-                        ReflectionUtils.invoke(method, instance, parameters);
-                        return null;
-                    })
-            );
+    private Future<Void> inject(InjectionPlan plan, Object instance, Resolution resolution) {
+        if (context.sequentialInjection()) {
+            return injectSequentially(plan, instance, resolution);
         }
-        return future;
+        // Resolve every injection point at once, then apply them in declaration order
+        var steps = plan.steps();
+        var resolved = new ArrayList<Future<?>>(steps.size());
+        for (var step : steps) {
+            resolved.add(resolve(step, resolution));
+        }
+        return Future.all(resolved).compose(values -> {
+            var future = Future.<Void>succeededFuture();
+            for (var index = 0; index < steps.size(); index++) {
+                var step = steps.get(index);
+                var value = values.resultAt(index);
+                future = future.compose(v -> apply(step, instance, value));
+            }
+            return future;
+        });
     }
 
-    private Future<Void> injectFields(Class<?> type, Object instance) {
+    private Future<Void> injectSequentially(InjectionPlan plan, Object instance, Resolution resolution) {
         var future = Future.<Void>succeededFuture();
-        for (var field : type.getDeclaredFields()) {
-            future = future.compose(v2 -> {
-                //are annotated with @Inject.
-                //are not final.
-                //may have any otherwise valid name.
-                if (!field.isAnnotationPresent(Inject.class) || Modifier.isFinal(field.getModifiers())) {
-                    return tryInjectWithAdapter(instance, field);
-                }
-                var fieldType = field.getType();
-                var name = ReflectionUtils.getQualifier(field);
-                return context.getInstance(fieldType, name).map(component -> {
-                    ReflectionUtils.setField(field, instance, component);
-                    return null;
-                });
-            });
+        for (var step : plan.steps()) {
+            future = future.compose(v -> resolve(step, resolution)
+                    .compose(value -> apply(step, instance, value)));
         }
         return future;
     }
 
-    private Future<Void> tryInjectWithAdapter(Object instance, Field field) {
-        var future = Future.<Void>succeededFuture();
-        for (var injector : injectors.values()) {
-            if (injector.isInjectable(field)) {
-                future = future.compose(v -> injector.inject(instance, field));
+    // Lookup errors such as a missing bind are thrown, they reach the caller through the returned future
+    private Future<?> resolve(InjectionPlan.Step step, Resolution resolution) {
+        try {
+            if (step instanceof FieldStep) {
+                return context.resolve(((FieldStep) step).dependency(), resolution);
             }
+            if (step instanceof MethodStep) {
+                return context.resolveDependencies(((MethodStep) step).parameters(), resolution);
+            }
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+        // Adapters resolve and set their value themselves when applied
+        return Future.succeededFuture();
+    }
+
+    private Future<Void> apply(InjectionPlan.Step step, Object instance, Object value) {
+        if (step instanceof FieldStep) {
+            ((FieldStep) step).accessor().set(instance, value);
+            return Future.succeededFuture();
+        }
+        if (step instanceof MethodStep) {
+            ((MethodStep) step).accessor().invoke(instance, (Object[]) value);
+            return Future.succeededFuture();
+        }
+        var adapterStep = (AdapterStep) step;
+        var future = Future.<Void>succeededFuture();
+        for (var injector : adapterStep.injectors()) {
+            future = future.compose(v -> injector.inject(instance, adapterStep.field()));
         }
         return future;
     }
@@ -0,0 +1,90 @@
+package shi.container.internal;
+
+import shi.container.bind.Bind;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class BindIndex {
+
+    // Binds by their declared type
+    private final Map<Class<?>, Entry> exact = new ConcurrentHashMap<>(64);
+    // Binds by every superclass and interface of their declared type
+    private final Map<Class<?>, Entry> assignable = new ConcurrentHashMap<>(256);
+
+    void add(Bind<?> bind) {
+        exact.computeIfAbsent(bind.from(), t -> new Entry()).add(bind);
+        for (var type : supertypes(bind.from())) {
+            assignable.computeIfAbsent(type, t -> new Entry()).add(bind);
+        }
+    }
+
+    Entry exact(Class<?> type) {
+        return exact.get(type);
+    }
+
+    Entry lookup(Class<?> type) {
+        var entry = exact.get(type);
+        if (entry == null) {
+            entry = assignable.get(type);
+        }
+        return entry;
+    }
+
+    List<Bind<?>> all(Class<?> type) {
+        var entry = assignable.get(type);
+        return entry == null ? Collections.emptyList() : entry.binds;
+    }
+
+    void clear() {
+        exact.clear();
+        assignable.clear();
+    }
+
+    private static Set<Class<?>> supertypes(Class<?> type) {
+        var types = new LinkedHashSet<Class<?>>();
+        collect(type, types);
+        return types;
+    }
+
+    private static void collect(Class<?> type, Set<Class<?>> types) {
+        if (type == null || !types.add(type)) {
+            return;
+        }
+        collect(type.getSuperclass(), types);
+        for (var inf : type.getInterfaces()) {
+            collect(inf, types);
+        }
+    }
+
+    static final class Entry {
+        private final List<Bind<?>> binds = new CopyOnWriteArrayList<>();
+        private final Map<String, Bind<?>> byName = new ConcurrentHashMap<>(4);
+        private volatile Bind<?> primary;
+
+        private void add(Bind<?> bind) {
+            binds.add(bind);
+            byName.putIfAbsent(bind.name(), bind);
+            if (bind.primary() && primary == null) {
+                primary = bind;
+            }
+        }
+
+        List<Bind<?>> binds() {
+            return binds;
+        }
+
+        Bind<?> named(String name) {
+            return byName.get(name);
+        }
+
+        Bind<?> primary() {
+            return primary;
+        }
+    }
+}
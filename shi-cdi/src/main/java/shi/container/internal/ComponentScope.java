@@ -0,0 +1,58 @@
+package shi.container.internal;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import shi.container.bind.Bind;
+import shi.container.lifecircle.DisposableComponent;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+@SuppressWarnings("unchecked")
+class ComponentScope {
+    private final Map<Bind<?>, Future<?>> components = new ConcurrentHashMap<>(16);
+
+    <T> Future<T> getOrCreate(Bind<T> bind, Supplier<Future<T>> creator) {
+        var existing = (Future<T>) components.get(bind);
+        if (existing != null) {
+            return existing;
+        }
+        var promise = Promise.<T>promise();
+        var inflight = (Future<T>) components.putIfAbsent(bind, promise.future());
+        if (inflight != null) {
+            return inflight;
+        }
+        creator.get().onComplete(ar -> {
+            if (ar.failed()) {
+                components.remove(bind, promise.future());
+            }
+            promise.handle(ar);
+        });
+        return promise.future();
+    }
+
+    Future<Void> close() {
+        return close((bind, component) -> {
+            try {
+                return component.destroy();
+            } catch (Exception e) {
+                return Future.failedFuture(e);
+            }
+        });
+    }
+
+    Future<Void> close(BiFunction<Bind<?>, DisposableComponent, Future<?>> destroyer) {
+        var disposals = new ArrayList<Future<?>>();
+        for (var entry : components.entrySet()) {
+            var component = entry.getValue();
+            if (component.succeeded() && component.result() instanceof DisposableComponent) {
+                disposals.add(destroyer.apply(entry.getKey(), (DisposableComponent) component.result()));
+            }
+        }
+        components.clear();
+        return Future.join(disposals).mapEmpty();
+    }
+}
@@ -1,178 +1,448 @@
 package shi.container.internal;
 
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.impl.ContextInternal;
 import io.vertx.core.impl.logging.Logger;
 import io.vertx.core.impl.logging.LoggerFactory;
 import shi.container.Container;
-import shi.container.annotation.Inject;
+import shi.container.ContainerOptions;
+import shi.container.ShutdownReport;
+import shi.container.annotation.ExecuteOn;
+import shi.container.annotation.Primary;
+import shi.container.annotation.Provides;
+import shi.container.annotation.Singleton;
 import shi.container.bind.Bind;
+import shi.container.bind.Dependency;
+import shi.container.bind.Execution;
 import shi.container.bind.Key;
 import shi.container.exceptions.EnvironmentException;
 import shi.container.exceptions.errors.Errors;
 import shi.container.factory.InstanceFactory;
 import shi.container.factory.DefaultInstanceFactory;
+import shi.container.factory.InstantiationPlan;
+import shi.container.factory.ProviderMethodFactory;
 import shi.container.factory.VerticleInjectionFactory;
 import shi.container.injectors.FieldInjector;
+import shi.container.injectors.impl.InjectionPlan;
 import shi.container.injectors.impl.MembersInjectorImpl;
+import shi.container.jfr.BindResolutionEvent;
+import shi.container.jfr.ComponentEvents;
 import shi.container.lifecircle.DisposableComponent;
+import shi.container.metrics.ContainerMetrics;
 import shi.container.utils.BinderUtils;
 import shi.container.utils.ReflectionUtils;
 
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("unchecked")
 public class ContainerImpl implements Container {
     private static final Logger log = LoggerFactory.getLogger(ContainerImpl.class);
+    // Metrics entry of virtual thread tasks, they have no pool size and never queue behind the workers
+    private static final String VIRTUAL_THREADS = "virtual";
 
     private static final Map<Class<? extends FieldInjector>, FieldInjector> FIELD_INJECTORS;
 
     static {
-        FIELD_INJECTORS = new HashMap<>();
+        var discovered = new HashMap<Class<? extends FieldInjector>, FieldInjector>();
         for (var injector : ServiceLoader.load(FieldInjector.class)) {
-            FIELD_INJECTORS.put(injector.getClass(), injector);
+            discovered.put(injector.getClass(), injector);
         }
+        FIELD_INJECTORS = Map.copyOf(discovered);
     }
 
-    private final Map<Class<?>, Set<Key>> allKeysByType = new ConcurrentHashMap<>(64);
+    private final BindIndex index = new BindIndex();
     private final Map<Key, Bind<?>> binders = new ConcurrentHashMap<>(256);
     private final Map<Bind<?>, Object> holders = new ConcurrentHashMap<>(16);
-    private final Set<Bind<?>> lockers = Collections.synchronizedSet(new HashSet<>());
+    private final Map<Bind<?>, Future<?>> instances = new ConcurrentHashMap<>(16);
+    private final Map<Bind<?>, Creation> creating = new ConcurrentHashMap<>(16);
+    private final Set<ComponentScope> scopes = ConcurrentHashMap.newKeySet();
+    // Injectors added to one container stay out of the others
+    private final Map<Class<? extends FieldInjector>, FieldInjector> injectors = new ConcurrentHashMap<>(FIELD_INJECTORS);
     private final Vertx vertx;
+    private final ContainerOptions options;
+    private final ContainerMetrics metrics;
+    private final GraphSnapshot snapshot;
+    // Constructors restored from the snapshot, and the plans built from them, for this container only
+    private final Map<Class<?>, String[]> constructors = new ConcurrentHashMap<>(16);
+    private final Map<Class<?>, InstantiationPlan> plans = new ConcurrentHashMap<>(16);
+    // Null unless options ask for virtual threads and the runtime has them
+    private final ExecutorService virtualThreads;
+    private final WorkerExecutor workers;
+    // Named pools of @ExecuteOn(POOL) components, created on first use
+    private final Map<String, WorkerExecutor> pools = new ConcurrentHashMap<>(4);
+    private final CreationCosts costs;
+    private volatile MembersInjectorImpl membersInjector = new MembersInjectorImpl(this, injectors);
 
     public ContainerImpl(Vertx vertx) {
+        this(vertx, new ContainerOptions());
+    }
+
+    public ContainerImpl(Vertx vertx, ContainerOptions options) {
+        // Validated once, changes made to the caller's instance afterwards are not seen
+        options = options.copy();
+        if (options.execution() == Execution.POOL) {
+            throw new IllegalArgumentException("A container wide Execution must be INLINE, WORKER or ADAPTIVE, pools are named per component");
+        }
         this.vertx = vertx;
+        this.options = options;
+        this.metrics = options.metricsEnabled() ? new ContainerMetrics() : ContainerMetrics.DISABLED;
+        this.snapshot = GraphSnapshot.read(options.snapshotFile());
+        this.virtualThreads = options.virtualThreads() ? VirtualThreads.executor() : null;
+        this.costs = new CreationCosts(options.adaptiveInlineThreshold(), options.eventLoopBlockedThreshold());
+        this.workers = vertx.createSharedWorkerExecutor(options.workerPoolName(), options.workerPoolSize());
+        metrics.pool(options.workerPoolName(), options.workerPoolSize());
+        if (virtualThreads != null) {
+            metrics.pool(VIRTUAL_THREADS, 0);
+        }
         vertx.registerVerticleFactory(new VerticleInjectionFactory(this));
     }
 
     @Override
-    public Container addInjector(FieldInjector injector) {
-        FIELD_INJECTORS.put(injector.getClass(), injector);
+    public synchronized Container addInjector(FieldInjector injector) {
+        injectors.put(injector.getClass(), injector);
+        // Cached injection plans hold the applicable injectors, rebuild them
+        membersInjector = new MembersInjectorImpl(this, injectors);
         return this;
     }
 
     @Override
     public <T> Future<T> createInstance(Class<T> type) {
-        return doCreateComponent(Bind.bind(type).to(type));
+        var bind = Bind.bind(type).to(type);
+        executeOn(bind, BinderUtils.getExecuteOn(bind));
+        return doCreateComponent(bind, Resolution.ROOT.child(bind));
     }
 
     @Override
     public <T> Future<T> getInstance(Class<T> type) {
-        var bind = this.findBind(type, "");
-        return doGetComponent(bind);
+        return getInstance(type, "", Resolution.ROOT);
     }
 
     @Override
     public <T> Future<T> getInstance(Class<T> type, String qualifier) {
+        return getInstance(type, qualifier, Resolution.ROOT);
+    }
+
+    public <T> Future<T> getInstance(Class<T> type, String qualifier, Resolution resolution) {
         var bind = this.findBind(type, qualifier);
-        return doGetComponent(bind);
+        // Warm singletons are served before the event and its capturing lambda are allocated
+        var created = (Future<T>) instances.get(bind);
+        if (created != null) {
+            metrics.singletonHit(bind);
+            return created;
+        }
+        return ComponentEvents.record(new BindResolutionEvent(), bind, resolution, () -> doGetComponent(bind, resolution));
     }
 
-    private <T> Future<T> doGetComponent(Bind<T> bind) {
-        synchronized (holders) {
-            if (holders.containsKey(bind)) {
-                return vertx.executeBlocking(() -> (T) holders.get(bind), false).compose(holder -> {
-                    if (holder instanceof InstanceFactory) {
-                        log.warn(String.format("Create component '%s' by factory '%s", bind.from(), holder.getClass()));
-                        return ((InstanceFactory<T>) holder).create();
-                    }
-                    log.warn(String.format("reuse component %s", bind.to()));
-                    return Future.succeededFuture(holder);
-                });
+    private <T> Future<T> doGetComponent(Bind<T> bind, Resolution resolution) {
+        var created = (Future<T>) instances.get(bind);
+        if (created != null) {
+            metrics.singletonHit(bind);
+            return created;
+        }
+        if (resolution.contains(bind)) {
+            return Future.failedFuture(new EnvironmentException(Errors.CIRCULAR_INJECTION
+                    .arguments(bind.from(), bind.name())
+            ));
+        }
+        var holder = holders.get(bind);
+        if (holder instanceof InstanceFactory) {
+            metrics.factoryCall(bind);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Create component '%s' by factory '%s", bind.from(), holder.getClass()));
             }
-            if (bind.singleton()) {
-                synchronized (lockers) {
-                    if (lockers.contains(bind)) {
-                        throw new EnvironmentException(Errors.CIRCULAR_INJECTION
-                                .arguments(bind.from(), bind.name())
-                        );
-                    }
-                    lockers.add(bind);
-                }
+            if (holder instanceof ProviderMethodFactory) {
+                return ((ProviderMethodFactory<T>) holder).create(resolution.child(bind));
             }
-            return doCreateComponent(bind).andThen(ar -> {
-                synchronized (holders) {
-                    if (ar.succeeded() && bind.singleton()) {
-                        holders.put(bind, ar.result());
-                    }
-                }
-                synchronized (lockers) {
-                    lockers.remove(bind);
+            return ((InstanceFactory<T>) holder).create();
+        }
+        if (bind.contextScoped()) {
+            return doGetContextComponent(bind, resolution);
+        }
+        if (bind.unitScoped()) {
+            return doGetUnitComponent(bind, resolution);
+        }
+        if (!bind.singleton()) {
+            return doCreateComponent(bind, resolution.child(bind));
+        }
+        // Single-flight: the first caller creates, concurrent callers attach to the same future
+        var promise = Promise.<T>promise();
+        var inflight = creating.putIfAbsent(bind, new Creation(promise.future()));
+        if (inflight != null) {
+            return join(bind, inflight, resolution);
+        }
+        created = (Future<T>) instances.get(bind);
+        if (created != null) {
+            creating.remove(bind);
+            metrics.singletonHit(bind);
+            return created;
+        }
+        metrics.singletonMiss(bind);
+        doCreateComponent(bind, resolution.child(bind)).onComplete(ar -> {
+            if (ar.succeeded()) {
+                holders.put(bind, ar.result());
+                instances.put(bind, Future.succeededFuture(ar.result()));
+            }
+            creating.remove(bind);
+            promise.handle(ar);
+        });
+        return promise.future();
+    }
+
+    // Joining a creation that already waits, directly or through others, on the caller's chain would never complete
+    private <T> Future<T> join(Bind<T> bind, Creation creation, Resolution resolution) {
+        synchronized (creating) {
+            if (waitsFor(bind, resolution, new HashSet<>())) {
+                return Future.failedFuture(new EnvironmentException(Errors.CIRCULAR_INJECTION
+                        .arguments(bind.from(), bind.name())
+                ));
+            }
+            for (var current = resolution; current != Resolution.ROOT; current = current.parent()) {
+                var owned = creating.get(current.bind());
+                if (owned != null) {
+                    owned.awaiting.add(bind);
                 }
-            });
+            }
+        }
+        return (Future<T>) creation.future;
+    }
+
+    private boolean waitsFor(Bind<?> bind, Resolution chain, Set<Bind<?>> visited) {
+        var creation = creating.get(bind);
+        if (creation == null || !visited.add(bind)) {
+            return false;
+        }
+        for (var awaited : creation.awaiting) {
+            if (chain.contains(awaited) || waitsFor(awaited, chain, visited)) {
+                return true;
+            }
         }
+        return false;
+    }
+
+    private <T> Future<T> doGetContextComponent(Bind<T> bind, Resolution resolution) {
+        var context = (ContextInternal) Vertx.currentContext();
+        if (context == null) {
+            return Future.failedFuture(new EnvironmentException(Errors.NO_ACTIVE_CONTEXT
+                    .arguments(bind.from(), bind.name())
+            ));
+        }
+        // Duplicated contexts of the same event loop share the components of their root context
+        var root = context.unwrap();
+        var scope = (ComponentScope) root.contextData().computeIfAbsent(this, k -> openScope(root));
+        return scope.getOrCreate(bind, () -> doCreateComponent(bind, resolution.child(bind)));
+    }
+
+    private ComponentScope openScope(ContextInternal context) {
+        var scope = new ComponentScope();
+        scopes.add(scope);
+        context.addCloseHook(completion -> {
+            scopes.remove(scope);
+            scope.close().onComplete(completion);
+        });
+        return scope;
+    }
+
+    private <T> Future<T> doGetUnitComponent(Bind<T> bind, Resolution resolution) {
+        var context = (ContextInternal) Vertx.currentContext();
+        var scope = context == null ? null : (ComponentScope) context.localContextData().get(this);
+        if (scope == null) {
+            return Future.failedFuture(new EnvironmentException(Errors.NO_ACTIVE_SCOPE
+                    .arguments(bind.from(), bind.name())
+            ));
+        }
+        return scope.getOrCreate(bind, () -> doCreateComponent(bind, resolution.child(bind)));
+    }
+
+    @Override
+    public Context beginScope() {
+        var current = (ContextInternal) vertx.getOrCreateContext();
+        var context = current.isDuplicate() && !current.localContextData().containsKey(this)
+                ? current
+                : current.duplicate();
+        var scope = new ComponentScope();
+        // Tracked so a scope still open at shutdown is disposed with the rest
+        scopes.add(scope);
+        context.localContextData().put(this, scope);
+        return context;
+    }
+
+    @Override
+    public Future<Void> endScope(Context context) {
+        var scope = (ComponentScope) ((ContextInternal) context).localContextData().remove(this);
+        if (scope == null) {
+            return Future.succeededFuture();
+        }
+        scopes.remove(scope);
+        return scope.close();
     }
 
     private <T> Bind<T> findBind(Class<T> type, String qualifier) {
-        var keys = allKeysByType.get(type);
-        if (keys == null || keys.isEmpty()) {
-            keys = allKeysByType.entrySet().stream()
-                    .filter(entry -> type.isAssignableFrom(entry.getKey()))
-                    .flatMap(entry -> entry.getValue().stream())
-                    .collect(Collectors.toSet());
+        var entry = index.lookup(type);
+        if (entry == null) {
+            throw new EnvironmentException(Errors.NO_QUALIFIER_REGISTERED
+                    .arguments(type, qualifier));
         }
         if (qualifier == null || qualifier.isBlank()) {
-            var binds = keys.stream()
-                    .map(binders::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
-            if (binds.isEmpty()) {
-                throw new EnvironmentException(Errors.NO_QUALIFIER_REGISTERED
-                        .arguments(type, qualifier));
-            }
+            var binds = entry.binds();
             if (binds.size() == 1) {
                 return (Bind<T>) binds.get(0);
             }
-            return (Bind<T>) binds.stream()
-                    .filter(Bind::primary)
-                    .findFirst()
-                    .orElseThrow(() -> new EnvironmentException(Errors.TOO_MANY_INSTANCES
-                            .arguments(type)
-                    ));
-        }
-        return (Bind<T>) keys.stream()
-                .filter(k -> qualifier.equals(k.getName()))
-                .findFirst()
-                .map(binders::get)
-                .orElseThrow(() -> new EnvironmentException(Errors.NO_QUALIFIER_REGISTERED
-                        .arguments(type, qualifier)
-                ));
+            var primary = entry.primary();
+            if (primary == null) {
+                throw new EnvironmentException(Errors.TOO_MANY_INSTANCES
+                        .arguments(type)
+                );
+            }
+            return (Bind<T>) primary;
+        }
+        var bind = entry.named(qualifier);
+        if (bind == null) {
+            throw new EnvironmentException(Errors.NO_QUALIFIER_REGISTERED
+                    .arguments(type, qualifier)
+            );
+        }
+        return (Bind<T>) bind;
     }
 
-    private <T> Future<T> doCreateComponent(Bind<T> bind) {
-        log.warn(String.format("create component %s", bind.to()));
-        var factory = new DefaultInstanceFactory<>(this, bind);
-        return factory.create();
+    private <T> Future<T> doCreateComponent(Bind<T> bind, Resolution resolution) {
+        if (log.isDebugEnabled()) {
+            log.debug(String.format("create component %s", bind.to()));
+        }
+        var factory = new DefaultInstanceFactory<>(this, bind, resolution);
+        if (!metrics.enabled()) {
+            return factory.create();
+        }
+        var start = metrics.start();
+        metrics.creationStarted();
+        return factory.create().onComplete(ar -> metrics.creationCompleted(bind, start, ar.succeeded()));
+    }
+
+    // Every blocking step of the container goes through here, on its own pool apart from the application's
+    public <T> Future<T> executeBlocking(Callable<T> action) {
+        if (virtualThreads == null) {
+            return workers.executeBlocking(timed(options.workerPoolName(), action), false);
+        }
+        var task = timed(VIRTUAL_THREADS, action);
+        // Completed on the caller's context, like executeBlocking
+        var promise = ((ContextInternal) vertx.getOrCreateContext()).<T>promise();
+        try {
+            virtualThreads.execute(() -> {
+                try {
+                    promise.complete(task.call());
+                } catch (Throwable e) {
+                    promise.fail(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            promise.fail(e);
+        }
+        return promise.future();
+    }
+
+    // Runs a construction step of the bind where its Execution puts it, the container's default when undeclared
+    public <T> Future<T> execute(Bind<?> bind, Callable<T> action) {
+        var execution = bind.execution() != null ? bind.execution() : options.execution();
+        // Inline steps complete before returning, a graph of inline binds over warm dependencies never leaves the caller
+        if (execution == Execution.INLINE) {
+            return inline(action);
+        }
+        if (execution == Execution.ADAPTIVE) {
+            return adaptive(bind, action);
+        }
+        if (execution == Execution.POOL) {
+            return pool(bind.pool()).executeBlocking(timed(bind.pool(), action), false);
+        }
+        return executeBlocking(action);
+    }
+
+    private <T> Future<T> adaptive(Bind<?> bind, Callable<T> action) {
+        var inline = costs.inline(bind);
+        var measured = costs.measure(bind, action, inline && Context.isOnEventLoopThread());
+        return inline ? inline(measured) : executeBlocking(measured);
+    }
+
+    private static <T> Future<T> inline(Callable<T> action) {
+        try {
+            return Future.succeededFuture(action.call());
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    private WorkerExecutor pool(String name) {
+        var pool = pools.get(name);
+        if (pool != null) {
+            return pool;
+        }
+        return pools.computeIfAbsent(name, n -> {
+            metrics.pool(n, options.poolSize(n));
+            return vertx.createSharedWorkerExecutor(n, options.poolSize(n));
+        });
+    }
+
+    private <T> Callable<T> timed(String pool, Callable<T> action) {
+        if (!metrics.enabled()) {
+            return action;
+        }
+        var queuedAt = metrics.queued(pool);
+        return () -> {
+            var start = metrics.started(pool, queuedAt);
+            try {
+                return action.call();
+            } finally {
+                metrics.finished(pool, start);
+            }
+        };
     }
 
     @Override
     public <T> Future<List<T>> getInstances(Class<T> type) {
+        return getInstances(type, Resolution.ROOT);
+    }
+
+    public <T> Future<List<T>> getInstances(Class<T> type, Resolution resolution) {
         if (type == null) return Future.succeededFuture(Collections.emptyList());
-        var futures = new ArrayList<Future<T>>();
-        allKeysByType.entrySet().stream()
-                .filter(e -> type.isAssignableFrom(e.getKey()))
-                .flatMap(e -> e.getValue().stream())
-                .map(binders::get)
-                .map(bind -> doCreateComponent(bind).map(i -> (T) i))
-                .forEach(futures::add);
+        var binds = index.all(type);
+        var futures = new ArrayList<Future<T>>(binds.size());
+        for (var bind : binds) {
+            futures.add(doGetComponent((Bind<T>) bind, resolution));
+        }
         return Future.all(futures).map(CompositeFuture::list);
     }
 
     @Override
     public <T> Future<T> inject(T instance) {
-        var membersInject = new MembersInjectorImpl(this, FIELD_INJECTORS);
-        return membersInject.inject(instance).map(instance);
+        return inject(instance, Resolution.ROOT);
+    }
+
+    public InstantiationPlan plan(Class<?> type) {
+        var parameterTypes = constructors.get(type);
+        if (parameterTypes == null) {
+            return InstantiationPlan.of(type);
+        }
+        return plans.computeIfAbsent(type, t -> InstantiationPlan.of(t, parameterTypes));
+    }
+
+    public <T> Future<T> inject(T instance, Resolution resolution) {
+        return membersInjector.inject(instance, resolution).map(instance);
     }
 
     @Override
-    public <T> void registry(Bind<T> bind) {
+    public synchronized <T> void registry(Bind<T> bind) {
         if (bind == null || bind.from() == null) {
             return;
         }
@@ -184,25 +454,34 @@ public class ContainerImpl implements Container {
             );
         }
         bind.name(bind.name());
-        bind.singleton(BinderUtils.isSingleton(bind));
-        bind.primary(BinderUtils.isPrimary(bind));
+        if (snapshot == null || !snapshot.restore(bind, constructors)) {
+            bind.contextScoped(BinderUtils.isContextScoped(bind));
+            bind.unitScoped(!bind.contextScoped() && BinderUtils.isUnitScoped(bind));
+            bind.singleton(!bind.contextScoped() && !bind.unitScoped() && BinderUtils.isSingleton(bind));
+            bind.primary(BinderUtils.isPrimary(bind));
+        }
+        if (bind.execution() == null) {
+            executeOn(bind, BinderUtils.getExecuteOn(bind));
+        }
+        if (bind.execution() == Execution.POOL && bind.pool().isBlank()) {
+            throw new EnvironmentException(Errors.INVALID_EXECUTION
+                    .arguments(bind.from(), bind.name())
+            );
+        }
         var key = bind.bindKey();
         if (binders.containsKey(key)) {
             throw new EnvironmentException(Errors.DUPLICATE_REGISTERED
                     .arguments(bind.from(), bind.name())
             );
         }
-        var types = allKeysByType.computeIfAbsent(key.getType(), l -> new HashSet<>());
-        if (bind.primary() && types.stream()
-                .map(binders::get)
-                .filter(Objects::nonNull)
-                .anyMatch(Bind::primary)) {
+        var types = index.exact(key.getType());
+        if (bind.primary() && types != null && types.primary() != null) {
             throw new EnvironmentException(Errors.TOO_MANY_PRIMARY_IMPLEMENTATIONS
                     .arguments(bind.from(), bind.name())
             );
         }
-        types.add(key);
         binders.put(key, bind);
+        index.add(bind);
     }
 
     @Override
@@ -211,6 +490,7 @@ public class ContainerImpl implements Container {
         bind.to(instance.getClass());
         registry(bind);
         holders.put(bind, instance);
+        instances.put(bind, Future.succeededFuture(instance));
     }
 
     @Override
@@ -221,63 +501,295 @@ public class ContainerImpl implements Container {
         holders.put(bind, instance);
     }
 
+    @Override
+    public void install(Object module) {
+        if (module == null) return;
+        for (var method : ReflectionUtils.getDeclaredMethodsWithAnnotation(module.getClass(), Provides.class)) {
+            var type = method.getReturnType();
+            if (type.isPrimitive()) {
+                throw new EnvironmentException(Errors.INVALID_PROVIDER
+                        .arguments(method, "it must return a reference type")
+                );
+            }
+            install(Bind.bind(type), module, method);
+        }
+    }
+
+    private <T> void install(Bind<T> bind, Object module, Method method) {
+        bind.name(ReflectionUtils.getQualifier(method));
+        bind.singleton(method.isAnnotationPresent(Singleton.class));
+        bind.primary(method.isAnnotationPresent(Primary.class));
+        executeOn(bind, method.getAnnotation(ExecuteOn.class));
+        registry(bind, (InstanceFactory<T>) new ProviderMethodFactory<>(this, bind, module, method));
+    }
+
+    private static void executeOn(Bind<?> bind, ExecuteOn executeOn) {
+        if (executeOn != null) {
+            bind.execution(executeOn.value());
+            bind.pool(executeOn.pool());
+        }
+    }
+
+    @Override
+    public Future<Void> preInstantiateSingletons() {
+        var binds = new ArrayList<>(binders.values());
+        var recorded = snapshot == null ? null : snapshot.waves(binds);
+        List<List<Bind<?>>> waves;
+        try {
+            waves = recorded != null ? recorded : DependencyGraph.of(binds, this::dependenciesOf).waves();
+        } catch (EnvironmentException e) {
+            return Future.failedFuture(e);
+        }
+        var future = Future.<Void>succeededFuture();
+        for (var wave : waves) {
+            future = future.compose(v -> {
+                var futures = new ArrayList<Future<?>>(wave.size());
+                for (var bind : wave) {
+                    var holder = holders.get(bind);
+                    if (bind.singleton() && (holder == null || holder instanceof ProviderMethodFactory)) {
+                        futures.add(doGetComponent(bind, Resolution.ROOT));
+                    }
+                }
+                return Future.all(futures).mapEmpty();
+            });
+        }
+        if (recorded == null && options.snapshotFile() != null) {
+            future = future.compose(v -> saveSnapshot(binds, waves));
+        }
+        return future;
+    }
+
+    private Future<Void> saveSnapshot(List<Bind<?>> binds, List<List<Bind<?>>> waves) {
+        return this.<Void>executeBlocking(() -> {
+                    GraphSnapshot.write(options.snapshotFile(), binds, waves, this::plan);
+                    return null;
+                })
+                .onFailure(t -> log.warn("Unable to write graph snapshot " + options.snapshotFile(), t))
+                .otherwiseEmpty();
+    }
+
+    Set<Bind<?>> dependenciesOf(Bind<?> bind) {
+        var holder = holders.get(bind);
+        if (holder != null && !(holder instanceof ProviderMethodFactory)) {
+            return new LinkedHashSet<>();
+        }
+        return edgesOf(bind);
+    }
+
+    private Set<Bind<?>> edgesOf(Bind<?> bind) {
+        var dependencies = new LinkedHashSet<Bind<?>>();
+        var holder = holders.get(bind);
+        if (holder instanceof ProviderMethodFactory) {
+            // A provided component depends on whatever its @Provides method takes
+            for (var dependency : ((ProviderMethodFactory<?>) holder).parameters()) {
+                collect(dependency, dependencies);
+            }
+            return dependencies;
+        }
+        if (bind.to() == null || InstanceFactory.class.isAssignableFrom(bind.to())) {
+            return dependencies;
+        }
+        try {
+            for (var dependency : plan(bind.to()).parameters()) {
+                collect(dependency, dependencies);
+            }
+        } catch (EnvironmentException e) {
+            // No usable constructor, reported when the bind is created
+        }
+        for (var step : membersInjector.plan(bind.to()).steps()) {
+            if (step instanceof InjectionPlan.FieldStep) {
+                collect(((InjectionPlan.FieldStep) step).dependency(), dependencies);
+            } else if (step instanceof InjectionPlan.MethodStep) {
+                for (var dependency : ((InjectionPlan.MethodStep) step).parameters()) {
+                    collect(dependency, dependencies);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private void collect(Dependency dependency, Set<Bind<?>> dependencies) {
+        if (dependency == null || dependency.deferred()) {
+            return;
+        }
+        if (dependency.kind() != Dependency.Kind.INSTANCE) {
+            dependencies.addAll(index.all(dependency.type()));
+            return;
+        }
+        try {
+            dependencies.add(findBind(dependency.type(), dependency.name()));
+        } catch (EnvironmentException e) {
+            // Unresolvable, reported when the dependent is created
+        }
+    }
+
     @Override
     public Vertx vertx() {
         return vertx;
     }
 
+    @Override
+    public ContainerOptions options() {
+        return options.copy();
+    }
+
+    public boolean sequentialInjection() {
+        return options.sequentialInjection();
+    }
+
+    @Override
+    public ContainerMetrics metrics() {
+        return metrics;
+    }
+
     @Override
     public Future<Void> close() {
-        return Future.join(holders.values().stream()
-                        .filter(DisposableComponent.class::isInstance)
-                        .map(DisposableComponent.class::cast)
-                        .map(safe(DisposableComponent::destroy, Future::failedFuture))
-                        .collect(Collectors.toList())
-                )
-                .transform(ar -> {
-                    allKeysByType.clear();
-                    binders.clear();
-                    holders.clear();
-                    return vertx.close();
-                });
-    }
-
-    private <T, R> Function<T, R> safe(Function<T, R> action, Function<Throwable, R> failMap) {
-        return component -> {
-            try {
-                return action.apply(component);
-            } catch (Exception e) {
-                return failMap.apply(e);
-            }
-        };
+        return shutdown().mapEmpty();
     }
 
-    public Future<Object[]> resolveParameters(Parameter[] parameters, boolean injectAllParameters) {
-        var futures = Arrays.stream(parameters)
-                .map(param -> {
-                    if (injectAllParameters || param.isAnnotationPresent(Inject.class)) {
-                        return resolveParameter(param);
+    @Override
+    public Future<ShutdownReport> shutdown() {
+        var report = new ShutdownReport();
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(options.shutdownTimeout());
+        // Scoped components are the outermost consumers, they go first
+        var disposals = new ArrayList<Future<?>>();
+        for (var scope : scopes) {
+            disposals.add(scope.close((bind, component) -> destroy(bind, component, report, deadline)));
+        }
+        scopes.clear();
+        var future = Future.join(disposals).<Void>mapEmpty().otherwiseEmpty();
+        for (var wave : disposalWaves()) {
+            future = future.compose(v -> {
+                var futures = new ArrayList<Future<?>>(wave.size());
+                for (var bind : wave) {
+                    var holder = holders.get(bind);
+                    if (holder instanceof DisposableComponent) {
+                        futures.add(destroy(bind, (DisposableComponent) holder, report, deadline));
                     }
-                    return Future.succeededFuture();
-                })
+                }
+                return Future.all(futures).mapEmpty();
+            });
+        }
+        return future.transform(ar -> {
+            index.clear();
+            binders.clear();
+            holders.clear();
+            instances.clear();
+            constructors.clear();
+            plans.clear();
+            costs.clear();
+            for (var entry : report.entries()) {
+                if (entry.outcome() != ShutdownReport.Outcome.DESTROYED) {
+                    log.warn(String.format("Component '%s' %s after %d ms", entry.component(), entry.outcome(), entry.elapsedMillis()), entry.cause());
+                }
+            }
+            if (virtualThreads != null) {
+                virtualThreads.shutdown();
+            }
+            workers.close();
+            pools.values().forEach(WorkerExecutor::close);
+            pools.clear();
+            return vertx.close().map(report);
+        });
+    }
+
+    // Dependents before their dependencies, so nothing is torn down while a consumer still uses it
+    private List<List<Bind<?>>> disposalWaves() {
+        var disposables = holders.entrySet().stream()
+                .filter(entry -> entry.getValue() instanceof DisposableComponent)
+                .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
+        List<List<Bind<?>>> waves;
+        try {
+            waves = new ArrayList<>(DependencyGraph.of(disposables, this::edgesOf).waves());
+        } catch (EnvironmentException e) {
+            // Cycles through Lazy/Provider can't be ordered, dispose everything at once
+            return Collections.singletonList(disposables);
+        }
+        Collections.reverse(waves);
+        return waves;
+    }
+
+    private Future<Void> destroy(Bind<?> bind, DisposableComponent component, ShutdownReport report, long deadline) {
+        var key = bind.bindKey();
+        var remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remaining <= 0) {
+            report.record(key, ShutdownReport.Outcome.SKIPPED, 0, null);
+            return Future.succeededFuture();
+        }
+        var start = System.nanoTime();
+        var done = new AtomicBoolean();
+        var promise = Promise.<Void>promise();
+        var timer = vertx.setTimer(Math.max(1, Math.min(options.destroyTimeout(), remaining)), id -> {
+            if (done.compareAndSet(false, true)) {
+                report.record(key, ShutdownReport.Outcome.TIMED_OUT, elapsedMillis(start), null);
+                promise.complete();
+            }
+        });
+        Future<Void> destroyed;
+        try {
+            destroyed = component.destroy();
+        } catch (Exception e) {
+            destroyed = Future.failedFuture(e);
+        }
+        (destroyed == null ? Future.<Void>succeededFuture() : destroyed).onComplete(ar -> {
+            if (done.compareAndSet(false, true)) {
+                vertx.cancelTimer(timer);
+                var elapsed = elapsedMillis(start);
+                var outcome = ar.failed() ? ShutdownReport.Outcome.FAILED
+                        : elapsed > options.slowDestroyThreshold() ? ShutdownReport.Outcome.SLOW
+                        : ShutdownReport.Outcome.DESTROYED;
+                report.record(key, outcome, elapsed, ar.cause());
+                promise.complete();
+            }
+        });
+        return promise.future();
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    public Future<Object[]> resolveDependencies(Dependency[] dependencies, Resolution resolution) {
+        var futures = new ArrayList<Future<?>>(dependencies.length);
+        for (var dependency : dependencies) {
+            futures.add(dependency == null ? Future.succeededFuture() : resolve(dependency, resolution));
+        }
         return Future.all(futures).map(composite -> composite.list().toArray());
     }
 
-    private Future<?> resolveParameter(Parameter param) {
-        var type = param.getType();
-        var name = ReflectionUtils.getQualifier(param);
-        if (Collection.class.isAssignableFrom(type)) {
-            var parameterizedType = (ParameterizedType) param.getParameterizedType();
-            var elementType = (Class<?>) parameterizedType.getActualTypeArguments()[0];
-            return getInstances(elementType).map(paramValue -> {
-                if (Set.class.isAssignableFrom(type)) {
-                    return Set.copyOf((Collection<?>) paramValue);
-                }
-                return paramValue;
-            });
-        } else {
-            return getInstance(type, name);
+    public Future<?> resolve(Dependency dependency, Resolution resolution) {
+        switch (dependency.kind()) {
+            case LIST:
+                return getInstances(dependency.type(), resolution);
+            case SET:
+                return getInstances(dependency.type(), resolution).map(Set::copyOf);
+            case LAZY:
+                return Future.succeededFuture(new LazyImpl<>(() -> deferred(dependency)));
+            case PROVIDER:
+                return Future.succeededFuture(new ProviderImpl<>(() -> deferred(dependency)));
+            default:
+                return getInstance(dependency.type(), dependency.name(), resolution);
+        }
+    }
+
+    // Lazy and Provider promise a future, a bind missing by the time they are used fails it instead of throwing
+    private <T> Future<T> deferred(Dependency dependency) {
+        try {
+            return (Future<T>) getInstance(dependency.type(), dependency.name());
+        } catch (RuntimeException e) {
+            return Future.failedFuture(e);
+        }
+    }
+
+    // A singleton being created by one resolution chain, with the singletons that chain has joined since
+    private static final class Creation {
+        private final Future<?> future;
+        // Guarded by the creating map
+        private final Set<Bind<?>> awaiting = new HashSet<>(4);
+
+        private Creation(Future<?> future) {
+            this.future = future;
         }
     }
 }
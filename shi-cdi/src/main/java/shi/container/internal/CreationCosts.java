@@ -0,0 +1,81 @@
+package shi.container.internal;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import shi.container.bind.Bind;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/*
+ * What construction steps of ADAPTIVE binds cost. Each bind keeps a decaying peak: a slower step raises it at once,
+ * faster ones pull it a quarter of the way down, so a bind is only inlined once all of its steps have proven cheap. Updates race
+ * without harm, the numbers only steer routing.
+ */
+final class CreationCosts {
+    private static final Logger log = LoggerFactory.getLogger(CreationCosts.class);
+    // Steps measured on the worker pool before a bind may run inline, constructor lookup and newInstance of one creation
+    private static final int MEASURED_STEPS = 2;
+
+    private final long inlineThreshold;
+    private final long blockedThreshold;
+    // Nanosecond time source steps are measured with, fixed by tests so routing does not hang on the machine's speed
+    private final LongSupplier clock;
+    private final Map<Bind<?>, Cost> costs = new ConcurrentHashMap<>(64);
+
+    CreationCosts(long inlineThresholdMicros, long blockedThresholdMillis) {
+        this(inlineThresholdMicros, blockedThresholdMillis, System::nanoTime);
+    }
+
+    CreationCosts(long inlineThresholdMicros, long blockedThresholdMillis, LongSupplier clock) {
+        this.inlineThreshold = TimeUnit.MICROSECONDS.toNanos(inlineThresholdMicros);
+        this.blockedThreshold = TimeUnit.MILLISECONDS.toNanos(blockedThresholdMillis);
+        this.clock = clock;
+    }
+
+    // Unmeasured binds go to the worker pool first
+    boolean inline(Bind<?> bind) {
+        var cost = costs.get(bind);
+        return cost != null && !cost.blocked && cost.samples >= MEASURED_STEPS && cost.peak <= inlineThreshold;
+    }
+
+    // Times one step, onEventLoop tells it held the caller's event loop while it ran
+    <T> Callable<T> measure(Bind<?> bind, Callable<T> step, boolean onEventLoop) {
+        return () -> {
+            var start = clock.getAsLong();
+            try {
+                return step.call();
+            } finally {
+                record(bind, clock.getAsLong() - start, onEventLoop);
+            }
+        };
+    }
+
+    private void record(Bind<?> bind, long nanos, boolean onEventLoop) {
+        var cost = costs.get(bind);
+        if (cost == null) {
+            cost = costs.computeIfAbsent(bind, b -> new Cost());
+        }
+        var peak = cost.peak;
+        cost.peak = nanos >= peak ? nanos : peak - (peak - nanos) / 4;
+        cost.samples = cost.samples + 1;
+        if (onEventLoop && nanos > blockedThreshold && !cost.blocked) {
+            cost.blocked = true;
+            log.warn(String.format("Component '%s' blocked the event loop for %d ms while created inline, it stays on the worker pool from now on",
+                    bind.bindKey(), TimeUnit.NANOSECONDS.toMillis(nanos)));
+        }
+    }
+
+    void clear() {
+        costs.clear();
+    }
+
+    private static final class Cost {
+        private volatile long peak;
+        private volatile int samples;
+        private volatile boolean blocked;
+    }
+}
@@ -0,0 +1,83 @@
+package shi.container.internal;
+
+import shi.container.bind.Bind;
+import shi.container.exceptions.EnvironmentException;
+import shi.container.exceptions.errors.Errors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+class DependencyGraph {
+
+    private final Map<Bind<?>, Set<Bind<?>>> dependencies = new LinkedHashMap<>();
+
+    static DependencyGraph of(Collection<Bind<?>> binds, Function<Bind<?>, Set<Bind<?>>> dependenciesOf) {
+        var graph = new DependencyGraph();
+        for (var bind : binds) {
+            graph.dependencies.put(bind, new LinkedHashSet<>());
+        }
+        for (var bind : binds) {
+            for (var dependency : dependenciesOf.apply(bind)) {
+                // Only edges between known binds matter for ordering
+                if (graph.dependencies.containsKey(dependency)) {
+                    graph.dependencies.get(bind).add(dependency);
+                }
+            }
+        }
+        return graph;
+    }
+
+    Set<Bind<?>> dependencies(Bind<?> bind) {
+        return dependencies.getOrDefault(bind, Collections.emptySet());
+    }
+
+    // Kahn's algorithm, every wave only depends on the waves before it
+    List<List<Bind<?>>> waves() {
+        var pending = new HashMap<Bind<?>, Integer>();
+        var dependents = new HashMap<Bind<?>, List<Bind<?>>>();
+        var wave = new ArrayList<Bind<?>>();
+        for (var entry : dependencies.entrySet()) {
+            pending.put(entry.getKey(), entry.getValue().size());
+            if (entry.getValue().isEmpty()) {
+                wave.add(entry.getKey());
+            }
+            for (var dependency : entry.getValue()) {
+                dependents.computeIfAbsent(dependency, d -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        var waves = new ArrayList<List<Bind<?>>>();
+        var placed = 0;
+        while (!wave.isEmpty()) {
+            waves.add(wave);
+            placed += wave.size();
+            var next = new ArrayList<Bind<?>>();
+            for (var bind : wave) {
+                for (var dependent : dependents.getOrDefault(bind, Collections.emptyList())) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            wave = next;
+        }
+        if (placed < dependencies.size()) {
+            var cyclic = pending.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .findFirst()
+                    .orElseThrow();
+            throw new EnvironmentException(Errors.CIRCULAR_INJECTION
+                    .arguments(cyclic.from(), cyclic.name())
+            );
+        }
+        return waves;
+    }
+}
@@ -0,0 +1,287 @@
+package shi.container.internal;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import shi.container.bind.Bind;
+import shi.container.factory.InstanceFactory;
+import shi.container.factory.InstantiationPlan;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/*
+ * The resolved binding graph of a clean startup: bind flags, chosen constructors and the instantiation waves.
+ * Only trusted while the fingerprint of the bound classes' code sources matches, any mismatch or damage means a full analysis.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class GraphSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(GraphSnapshot.class);
+
+    private static final int MAGIC = 0x53484947;
+    private static final int VERSION = 2;
+
+    private static final int SINGLETON = 1;
+    private static final int PRIMARY = 1 << 1;
+    private static final int CONTEXT_SCOPED = 1 << 2;
+    private static final int UNIT_SCOPED = 1 << 3;
+
+    private final Map<String, Entry> entries;
+    private final List<List<String>> waves;
+
+    // Only the code sources of the bound classes are stamped, the rest of the classpath can't change the graph
+    static long fingerprint(Collection<String> locations) {
+        var hash = 1125899906842597L;
+        for (var location : locations) {
+            hash = mix(hash, location.hashCode());
+            var file = Path.of(location);
+            if (Files.isDirectory(file)) {
+                try (Stream<Path> files = Files.walk(file)) {
+                    for (var iterator = files.filter(Files::isRegularFile).sorted().iterator(); iterator.hasNext(); ) {
+                        hash = mix(hash, stamp(iterator.next()));
+                    }
+                } catch (IOException | UncheckedIOException e) {
+                    hash = mix(hash, -1);
+                }
+            } else if (Files.isRegularFile(file)) {
+                hash = mix(hash, stamp(file));
+            }
+        }
+        return hash;
+    }
+
+    static Set<String> locations(Collection<Bind<?>> binds) {
+        var locations = new TreeSet<String>();
+        for (var bind : binds) {
+            location(bind.from(), locations);
+            location(bind.to(), locations);
+        }
+        return locations;
+    }
+
+    private static void location(Class<?> type, Set<String> locations) {
+        var source = type == null ? null : type.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            // Platform classes
+            return;
+        }
+        try {
+            locations.add(Path.of(source.getLocation().toURI()).toString());
+        } catch (URISyntaxException | RuntimeException e) {
+            locations.add(source.getLocation().toString());
+        }
+    }
+
+    private static long stamp(Path file) {
+        try {
+            return mix(mix(file.toString().hashCode(), Files.size(file)), Files.getLastModifiedTime(file).toMillis());
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long mix(long hash, long value) {
+        return 31 * hash + (value ^ (value >>> 32));
+    }
+
+    static GraphSnapshot read(Path file) {
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                log.debug("Graph snapshot " + file + " has an unknown format, analysing the graph");
+                return null;
+            }
+            var locationCount = buffer.getInt();
+            var locations = new ArrayList<String>(locationCount);
+            for (var i = 0; i < locationCount; i++) {
+                locations.add(string(buffer));
+            }
+            if (buffer.getLong() != fingerprint(locations)) {
+                log.debug("Graph snapshot " + file + " is stale, analysing the graph");
+                return null;
+            }
+            var count = buffer.getInt();
+            var keys = new ArrayList<String>(count);
+            var entries = new HashMap<String, Entry>(count * 2);
+            for (var i = 0; i < count; i++) {
+                var key = string(buffer);
+                var to = string(buffer);
+                var flags = buffer.get();
+                var parameters = buffer.getInt();
+                String[] constructor = null;
+                if (parameters >= 0) {
+                    constructor = new String[parameters];
+                    for (var p = 0; p < parameters; p++) {
+                        constructor[p] = string(buffer);
+                    }
+                }
+                keys.add(key);
+                entries.put(key, new Entry(to, flags, constructor));
+            }
+            var waveCount = buffer.getInt();
+            var waves = new ArrayList<List<String>>(waveCount);
+            for (var w = 0; w < waveCount; w++) {
+                var size = buffer.getInt();
+                var wave = new ArrayList<String>(size);
+                for (var i = 0; i < size; i++) {
+                    wave.add(keys.get(buffer.getInt()));
+                }
+                waves.add(wave);
+            }
+            return new GraphSnapshot(entries, waves);
+        } catch (IOException | RuntimeException e) {
+            // BufferUnderflowException, IndexOutOfBoundsException: a truncated or foreign file
+            log.debug("Unreadable graph snapshot " + file + ", analysing the graph", e);
+            return null;
+        }
+    }
+
+    static void write(Path file, Collection<Bind<?>> binds, List<List<Bind<?>>> waves,
+                      Function<Class<?>, InstantiationPlan> plans) throws IOException {
+        var locations = locations(binds);
+        var indices = new IdentityHashMap<Bind<?>, Integer>();
+        var temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try (var out = new DataOutputStream(Files.newOutputStream(temp))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(locations.size());
+            for (var location : locations) {
+                string(out, location);
+            }
+            out.writeLong(fingerprint(locations));
+            out.writeInt(binds.size());
+            for (var bind : binds) {
+                indices.put(bind, indices.size());
+                string(out, key(bind));
+                string(out, name(bind.to()));
+                out.writeByte(flags(bind));
+                var constructor = constructor(bind, plans);
+                out.writeInt(constructor == null ? -1 : constructor.length);
+                if (constructor != null) {
+                    for (var parameter : constructor) {
+                        string(out, parameter.getName());
+                    }
+                }
+            }
+            out.writeInt(waves.size());
+            for (var wave : waves) {
+                out.writeInt(wave.size());
+                for (var bind : wave) {
+                    out.writeInt(indices.get(bind));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Fills in the recorded flags when the bind still targets the recorded implementation, flags set in code win
+    boolean restore(Bind<?> bind, Map<Class<?>, String[]> constructors) {
+        var entry = entries.get(key(bind));
+        if (entry == null || !entry.to.equals(name(bind.to()))) {
+            return false;
+        }
+        bind.contextScoped(bind.contextScoped() || (entry.flags & CONTEXT_SCOPED) != 0);
+        bind.unitScoped(!bind.contextScoped() && (bind.unitScoped() || (entry.flags & UNIT_SCOPED) != 0));
+        bind.singleton(!bind.contextScoped() && !bind.unitScoped() && (bind.singleton() || (entry.flags & SINGLETON) != 0));
+        bind.primary(bind.primary() || (entry.flags & PRIMARY) != 0);
+        if (entry.constructor != null) {
+            constructors.put(bind.to(), entry.constructor);
+        }
+        return true;
+    }
+
+    // The recorded waves, when they were recorded for exactly these binds
+    List<List<Bind<?>>> waves(Collection<Bind<?>> binds) {
+        if (binds.size() != entries.size()) {
+            return null;
+        }
+        var byKey = new HashMap<String, Bind<?>>(binds.size() * 2);
+        for (var bind : binds) {
+            var entry = entries.get(key(bind));
+            if (entry == null || !entry.to.equals(name(bind.to()))) {
+                return null;
+            }
+            byKey.put(key(bind), bind);
+        }
+        var resolved = new ArrayList<List<Bind<?>>>(waves.size());
+        for (var wave : waves) {
+            var resolvedWave = new ArrayList<Bind<?>>(wave.size());
+            for (var key : wave) {
+                resolvedWave.add(byKey.get(key));
+            }
+            resolved.add(resolvedWave);
+        }
+        return resolved;
+    }
+
+    private static Class<?>[] constructor(Bind<?> bind, Function<Class<?>, InstantiationPlan> plans) {
+        if (bind.to() == null || InstanceFactory.class.isAssignableFrom(bind.to())) {
+            return null;
+        }
+        try {
+            return plans.apply(bind.to()).constructor().getParameterTypes();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static int flags(Bind<?> bind) {
+        return (bind.singleton() ? SINGLETON : 0)
+                | (bind.primary() ? PRIMARY : 0)
+                | (bind.contextScoped() ? CONTEXT_SCOPED : 0)
+                | (bind.unitScoped() ? UNIT_SCOPED : 0);
+    }
+
+    private static String key(Bind<?> bind) {
+        return bind.from().getName() + '#' + bind.name();
+    }
+
+    private static String name(Class<?> type) {
+        return type == null ? "" : type.getName();
+    }
+
+    private static String string(ByteBuffer buffer) {
+        var bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void string(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private final String to;
+        private final int flags;
+        private final String[] constructor;
+    }
+}
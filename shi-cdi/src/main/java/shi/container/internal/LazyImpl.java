@@ -0,0 +1,33 @@
+package shi.container.internal;
+
+import io.vertx.core.Future;
+import lombok.RequiredArgsConstructor;
+import shi.container.Lazy;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+final class LazyImpl<T> implements Lazy<T> {
+    private final Supplier<Future<T>> supplier;
+    private final AtomicReference<Future<T>> value = new AtomicReference<>();
+
+    @Override
+    public Future<T> get() {
+        var current = value.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = value.get();
+            if (current == null) {
+                current = supplier.get();
+                value.set(current);
+                var created = current;
+                // Allow a later call to retry a failed resolution
+                current.onFailure(t -> value.compareAndSet(created, null));
+            }
+            return current;
+        }
+    }
+}
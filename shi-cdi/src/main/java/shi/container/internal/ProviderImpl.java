@@ -0,0 +1,17 @@
+package shi.container.internal;
+
+import io.vertx.core.Future;
+import lombok.RequiredArgsConstructor;
+import shi.container.Provider;
+
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+final class ProviderImpl<T> implements Provider<T> {
+    private final Supplier<Future<T>> supplier;
+
+    @Override
+    public Future<T> get() {
+        return supplier.get();
+    }
+}
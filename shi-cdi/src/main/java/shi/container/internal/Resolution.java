@@ -0,0 +1,42 @@
+package shi.container.internal;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import shi.container.bind.Bind;
+
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Resolution {
+    public static final Resolution ROOT = new Resolution(null, null);
+
+    private final Bind<?> bind;
+    private final Resolution parent;
+
+    public Resolution child(Bind<?> bind) {
+        return new Resolution(bind, this);
+    }
+
+    public boolean contains(Bind<?> bind) {
+        for (var current = this; current != ROOT; current = current.parent) {
+            if (current.bind.equals(bind)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (this == ROOT) {
+            return "";
+        }
+        var chain = new StringBuilder(String.valueOf(bind.bindKey()));
+        for (var current = parent; current != ROOT; current = current.parent) {
+            chain.insert(0, " -> ").insert(0, current.bind.bindKey());
+        }
+        return chain.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package shi.container.internal;
+
+import io.vertx.core.impl.logging.Logger;
+import io.vertx.core.impl.logging.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+final class VirtualThreads {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreads.class);
+
+    private VirtualThreads() {
+    }
+
+    // One virtual thread per task, looked up reflectively since the container is built for Java 13
+    static ExecutorService executor() {
+        try {
+            var factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invokeExact();
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            log.warn("Virtual threads need Java 21, blocking construction stays on the worker pool");
+            return null;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Virtual thread executor could not be created", e);
+        }
+    }
+}
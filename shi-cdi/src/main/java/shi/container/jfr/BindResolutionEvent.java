@@ -0,0 +1,11 @@
+package shi.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.container.BindResolution")
+@Label("Bind Resolution")
+@Description("Finding the bind of a lookup and getting its component")
+public final class BindResolutionEvent extends ComponentEvent {
+}
@@ -0,0 +1,24 @@
+package shi.container.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+@Category({"shi-cdi", "Container"})
+@StackTrace(false)
+public abstract class ComponentEvent extends Event {
+    @Label("Bind Key")
+    String bindKey;
+
+    // The resolution chain that asked for this bind, outermost first
+    @Label("Parent Resolution")
+    String parent;
+
+    // Creation is asynchronous, the event thread is the one that completed the step
+    @Label("Start Thread")
+    Thread startThread;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,63 @@
+package shi.container.jfr;
+
+import io.vertx.core.Future;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import shi.container.bind.Bind;
+import shi.container.internal.Resolution;
+
+import java.util.function.Supplier;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ComponentEvents {
+
+    // Times an asynchronous step of a bind or class, without a recording it only costs the isEnabled check
+    public static <T> Future<T> record(ComponentEvent event, Object subject, Resolution parent, Supplier<Future<T>> step) {
+        if (!event.isEnabled()) {
+            return step.get();
+        }
+        event.startThread = Thread.currentThread();
+        event.begin();
+        Future<T> future;
+        try {
+            future = step.get();
+        } catch (RuntimeException e) {
+            commit(event, subject, parent, false);
+            throw e;
+        }
+        return future.onComplete(ar -> commit(event, subject, parent, ar.succeeded()));
+    }
+
+    public static <T> T record(ComponentEvent event, Class<?> type, Supplier<T> step) {
+        if (!event.isEnabled()) {
+            return step.get();
+        }
+        event.startThread = Thread.currentThread();
+        event.begin();
+        var succeeded = false;
+        try {
+            var result = step.get();
+            succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.bindKey = type.getName();
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    private static void commit(ComponentEvent event, Object subject, Resolution parent, boolean succeeded) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.bindKey = subject instanceof Bind ? String.valueOf(((Bind<?>) subject).bindKey())
+                    : subject instanceof Class ? ((Class<?>) subject).getName()
+                    : String.valueOf(subject);
+            event.parent = parent == null ? "" : parent.toString();
+            event.succeeded = succeeded;
+            event.commit();
+        }
+    }
+}
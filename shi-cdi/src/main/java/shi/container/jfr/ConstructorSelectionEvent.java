@@ -0,0 +1,11 @@
+package shi.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.container.ConstructorSelection")
+@Label("Constructor Selection")
+@Description("Selecting the injectable constructor of a class")
+public final class ConstructorSelectionEvent extends ComponentEvent {
+}
@@ -0,0 +1,11 @@
+package shi.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.container.Initialization")
+@Label("Initialization")
+@Description("Running afterPropertiesSet of a component")
+public final class InitializationEvent extends ComponentEvent {
+}
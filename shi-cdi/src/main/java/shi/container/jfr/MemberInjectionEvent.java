@@ -0,0 +1,11 @@
+package shi.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.container.MemberInjection")
+@Label("Member Injection")
+@Description("Injecting the fields and methods of a component")
+public final class MemberInjectionEvent extends ComponentEvent {
+}
@@ -0,0 +1,11 @@
+package shi.container.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("shi.container.ParameterResolution")
+@Label("Parameter Resolution")
+@Description("Resolving the constructor parameters of a component")
+public final class ParameterResolutionEvent extends ComponentEvent {
+}
@@ -0,0 +1,153 @@
+package shi.container.metrics;
+
+import shi.container.bind.Bind;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Counters of one container. The disabled instance returns before reading the clock or touching a counter,
+ * callers time work with start() so nothing is measured unless metrics are on.
+ */
+public class ContainerMetrics {
+    public static final ContainerMetrics DISABLED = new ContainerMetrics(false);
+
+    private final boolean enabled;
+    private final Map<Bind<?>, BindMetrics> binds = new ConcurrentHashMap<>(64);
+    private final AtomicLong inFlight = new AtomicLong();
+    private final Histogram blocking = new Histogram();
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>(4);
+
+    public ContainerMetrics() {
+        this(true);
+    }
+
+    private ContainerMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void creationStarted() {
+        if (enabled) {
+            inFlight.incrementAndGet();
+        }
+    }
+
+    public void creationCompleted(Bind<?> bind, long start, boolean succeeded) {
+        if (!enabled) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        var metrics = of(bind);
+        metrics.creations.record(System.nanoTime() - start);
+        if (!succeeded) {
+            metrics.failures.increment();
+        }
+    }
+
+    public void singletonHit(Bind<?> bind) {
+        if (enabled) {
+            of(bind).hits.increment();
+        }
+    }
+
+    public void singletonMiss(Bind<?> bind) {
+        if (enabled) {
+            of(bind).misses.increment();
+        }
+    }
+
+    public void factoryCall(Bind<?> bind) {
+        if (enabled) {
+            of(bind).factoryCalls.increment();
+        }
+    }
+
+    public void pool(String name, int size) {
+        if (enabled) {
+            pools.computeIfAbsent(name, n -> new PoolMetrics(size));
+        }
+    }
+
+    // A task entered the queue of a worker pool, returns the time it was queued at
+    public long queued(String pool) {
+        if (!enabled) {
+            return 0;
+        }
+        pools.get(pool).queued.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public long started(String pool, long queuedAt) {
+        if (!enabled) {
+            return 0;
+        }
+        var metrics = pools.get(pool);
+        metrics.queued.decrementAndGet();
+        metrics.running.incrementAndGet();
+        var now = System.nanoTime();
+        metrics.waits.record(now - queuedAt);
+        return now;
+    }
+
+    public void finished(String pool, long start) {
+        if (!enabled) {
+            return;
+        }
+        var metrics = pools.get(pool);
+        metrics.running.decrementAndGet();
+        metrics.completed.increment();
+        blocking.record(System.nanoTime() - start);
+    }
+
+    public MetricsSnapshot snapshot() {
+        var snapshots = new LinkedHashMap<String, MetricsSnapshot.BindSnapshot>();
+        for (var entry : binds.entrySet()) {
+            var metrics = entry.getValue();
+            var key = entry.getKey().bindKey();
+            snapshots.put(key.getType().getName() + (key.getName().isEmpty() ? "" : "#" + key.getName()),
+                    new MetricsSnapshot.BindSnapshot(metrics.creations.snapshot(), metrics.failures.sum(),
+                            metrics.hits.sum(), metrics.misses.sum(), metrics.factoryCalls.sum()));
+        }
+        var poolSnapshots = new LinkedHashMap<String, MetricsSnapshot.PoolSnapshot>();
+        pools.forEach((name, metrics) -> poolSnapshots.put(name, new MetricsSnapshot.PoolSnapshot(metrics.size,
+                metrics.queued.get(), metrics.running.get(), metrics.completed.sum(), metrics.waits.snapshot())));
+        return new MetricsSnapshot(enabled, inFlight.get(), blocking.snapshot(), snapshots, poolSnapshots);
+    }
+
+    private BindMetrics of(Bind<?> bind) {
+        var metrics = binds.get(bind);
+        return metrics != null ? metrics : binds.computeIfAbsent(bind, b -> new BindMetrics());
+    }
+
+    private static final class PoolMetrics {
+        private final int size;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger running = new AtomicInteger();
+        private final LongAdder completed = new LongAdder();
+        private final Histogram waits = new Histogram();
+
+        private PoolMetrics(int size) {
+            this.size = size;
+        }
+    }
+
+    private static final class BindMetrics {
+        private final Histogram creations = new Histogram();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder factoryCalls = new LongAdder();
+    }
+}
@@ -0,0 +1,89 @@
+package shi.container.metrics;
+
+import io.vertx.core.json.JsonObject;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free latency histogram with power-of-two microsecond buckets
+public class Histogram {
+    private static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+        for (var i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        var micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+        buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros))].increment();
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    Snapshot snapshot() {
+        var counts = new long[BUCKETS];
+        for (var i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(count.sum(), sum.sum(), max.get(), counts);
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Snapshot {
+        private final long count;
+        private final long sumNanos;
+        private final long maxNanos;
+        @Getter(AccessLevel.NONE)
+        private final long[] buckets;
+
+        public long meanNanos() {
+            return count == 0 ? 0 : sumNanos / count;
+        }
+
+        // Upper bound of the bucket holding the percentile, never above the recorded maximum
+        public long percentileNanos(double percentile) {
+            var total = 0L;
+            for (var b : buckets) {
+                total += b;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            var rank = (long) Math.ceil(percentile / 100 * total);
+            var seen = 0L;
+            for (var i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(maxNanos, TimeUnit.MICROSECONDS.toNanos(1L << i));
+                }
+            }
+            return maxNanos;
+        }
+
+        public JsonObject toJson() {
+            return new JsonObject()
+                    .put("count", count)
+                    .put("sumNanos", sumNanos)
+                    .put("meanNanos", meanNanos())
+                    .put("maxNanos", maxNanos)
+                    .put("p50Nanos", percentileNanos(50))
+                    .put("p90Nanos", percentileNanos(90))
+                    .put("p99Nanos", percentileNanos(99));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package shi.container.metrics;
+
+import io.vertx.core.json.JsonObject;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+
+@Getter
+@Accessors(fluent = true)
+@RequiredArgsConstructor
+public class MetricsSnapshot {
+    private final boolean enabled;
+    private final long inFlight;
+    // Worker pool time of the container's blocking calls, over all pools
+    private final Histogram.Snapshot blocking;
+    private final Map<String, BindSnapshot> binds;
+    // The container pool and every named pool, by name
+    private final Map<String, PoolSnapshot> pools;
+
+    public JsonObject toJson() {
+        var bindsJson = new JsonObject();
+        binds.forEach((key, bind) -> bindsJson.put(key, bind.toJson()));
+        var poolsJson = new JsonObject();
+        pools.forEach((name, pool) -> poolsJson.put(name, pool.toJson()));
+        return new JsonObject()
+                .put("enabled", enabled)
+                .put("inFlight", inFlight)
+                .put("blocking", blocking.toJson())
+                .put("binds", bindsJson)
+                .put("pools", poolsJson);
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor
+    public static class BindSnapshot {
+        private final Histogram.Snapshot creations;
+        private final long failures;
+        private final long singletonHits;
+        private final long singletonMisses;
+        private final long factoryCalls;
+
+        public double hitRatio() {
+            var lookups = singletonHits + singletonMisses;
+            return lookups == 0 ? 0 : (double) singletonHits / lookups;
+        }
+
+        public JsonObject toJson() {
+            return new JsonObject()
+                    .put("creations", creations.toJson())
+                    .put("failures", failures)
+                    .put("singletonHits", singletonHits)
+                    .put("singletonMisses", singletonMisses)
+                    .put("hitRatio", hitRatio())
+                    .put("factoryCalls", factoryCalls);
+        }
+    }
+
+    @Getter
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor
+    public static class PoolSnapshot {
+        private final int size;
+        private final int queued;
+        private final int running;
+        private final long completed;
+        // Time tasks spent queued before a thread picked them up
+        private final Histogram.Snapshot waits;
+
+        public JsonObject toJson() {
+            return new JsonObject()
+                    .put("size", size)
+                    .put("queued", queued)
+                    .put("running", running)
+                    .put("completed", completed)
+                    .put("waits", waits.toJson());
+        }
+    }
+}
@@ -2,39 +2,64 @@ package shi.container.utils;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import shi.container.annotation.ContextScoped;
+import shi.container.annotation.ExecuteOn;
 import shi.container.annotation.Primary;
 import shi.container.bind.Bind;
 import shi.container.annotation.Singleton;
+import shi.container.annotation.UnitScoped;
 
-import java.util.Arrays;
+import java.lang.annotation.Annotation;
 
+/**
+ * Reads the scope and selection flags of a bind from its annotations. A bind without
+ * {@link Singleton} or {@link Primary}, directly or through a stereotype, is a non-primary prototype.
+ */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BinderUtils {
     public static <T> boolean isSingleton(Bind<T> bind) {
         if (bind == null) return false;
-        return bind.singleton() || isSingleton(bind.from()) || isSingleton(bind.to());
+        return bind.singleton() || findAnnotation(bind, Singleton.class) != null;
     }
 
-    private static <T> boolean isSingleton(Class<T> type) {
-        if (type == null) return false;
-        if (type.isAssignableFrom(Singleton.class)) {
-            return true;
-        }
-        return Arrays.stream(type.getAnnotations())
-                .allMatch(ann -> ann.annotationType().isAnnotationPresent(Singleton.class));
+    public static <T> boolean isContextScoped(Bind<T> bind) {
+        if (bind == null) return false;
+        return bind.contextScoped() || findAnnotation(bind, ContextScoped.class) != null;
+    }
+
+    public static <T> boolean isUnitScoped(Bind<T> bind) {
+        if (bind == null) return false;
+        return bind.unitScoped() || findAnnotation(bind, UnitScoped.class) != null;
     }
 
     public static <T> boolean isPrimary(Bind<T> bind) {
         if (bind == null) return false;
-        return bind.primary() || isPrimary(bind.from()) || isPrimary(bind.to());
+        return bind.primary() || findAnnotation(bind, Primary.class) != null;
     }
 
-    private static <T> boolean isPrimary(Class<T> type) {
-        if (type == null) return false;
-        if (type.isAssignableFrom(Primary.class)) {
-            return true;
+    public static <T> ExecuteOn getExecuteOn(Bind<T> bind) {
+        if (bind == null) return null;
+        return findAnnotation(bind, ExecuteOn.class);
+    }
+
+    // The implementation is asked before the bound type, either may carry the annotation itself or on a stereotype
+    private static <A extends Annotation> A findAnnotation(Bind<?> bind, Class<A> annotation) {
+        var found = findAnnotation(bind.to(), annotation);
+        return found != null ? found : findAnnotation(bind.from(), annotation);
+    }
+
+    private static <A extends Annotation> A findAnnotation(Class<?> type, Class<A> annotation) {
+        if (type == null) return null;
+        var found = type.getAnnotation(annotation);
+        if (found != null) {
+            return found;
+        }
+        for (var stereotype : type.getAnnotations()) {
+            found = stereotype.annotationType().getAnnotation(annotation);
+            if (found != null) {
+                return found;
+            }
         }
-        return Arrays.stream(type.getAnnotations())
-                .allMatch(ann -> ann.annotationType().isAnnotationPresent(Primary.class));
+        return null;
     }
 }
@@ -1,7 +1,7 @@
 package shi.container.utils;
 
-import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
+import shi.container.accessors.MemberAccessors;
 import shi.container.annotation.Named;
 import shi.container.annotation.Qualifier;
 
@@ -62,16 +62,12 @@ public class ReflectionUtils {
         accessibleObject.setAccessible(true); // NOSONAR
     }
 
-    @SneakyThrows
     public static void setField(Field field, Object instance, Object value) {
-        makeAccessible(field);
-        field.set(instance, value); // NOSONAR
+        MemberAccessors.of(field).set(instance, value);
     }
 
-    @SneakyThrows
     public static void invoke(Method method, Object instance, Object... args) {
-        makeAccessible(method);
-        method.invoke(instance, args); // NOSONAR
+        MemberAccessors.of(method).invoke(instance, args);
     }
 
     @SafeVarargs
@@ -122,10 +118,8 @@ public class ReflectionUtils {
                 .collect(Collectors.toSet());
     }
 
-    @SneakyThrows
     @SuppressWarnings("unchecked")
     public static <T> T newInstance(Constructor<?> candidate, Object[] parameters) {
-        ReflectionUtils.makeAccessible(candidate);
-        return (T) candidate.newInstance(parameters);
+        return (T) MemberAccessors.of(candidate).newInstance(parameters);
     }
 }
@@ -0,0 +1,82 @@
+package shi.container;
+
+import io.vertx.core.Future;
+import org.junit.Test;
+import shi.container.annotation.Inject;
+import shi.container.annotation.Singleton;
+import shi.container.bind.Bind;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class AllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int CALLS = 100_000;
+
+    @Test
+    public void test_warm_singleton_lookup_does_not_allocate() {
+        var context = Container.create();
+        context.registry(Bind.bind(Warm.class).to(Warm.class));
+        join(context.getInstance(Warm.class));
+        assertWithinBudget("getInstance", 0, () -> context.getInstance(Warm.class));
+        join(context.close());
+    }
+
+    @Test
+    public void test_warm_singleton_lookup_by_supertype_does_not_allocate() {
+        var context = Container.create();
+        context.registry(Bind.bind(WarmImpl.class).name("warm").to(WarmImpl.class));
+        join(context.getInstance(WarmService.class, "warm"));
+        assertWithinBudget("getInstance by qualifier", 0, () -> context.getInstance(WarmService.class, "warm"));
+        join(context.close());
+    }
+
+    @Test
+    public void test_inject_stays_within_budget() {
+        var context = Container.create();
+        context.registry(Bind.bind(Warm.class).to(Warm.class));
+        join(context.getInstance(Warm.class));
+        var consumer = new Consumer();
+        join(context.inject(consumer));
+        assertSame(context.getInstance(Warm.class).result(), consumer.warm);
+        assertWithinBudget("inject", 512, () -> context.inject(consumer));
+        join(context.close());
+    }
+
+    // Fails when the average call allocates more than budget bytes on the calling thread
+    private static void assertWithinBudget(String path, long budget, Runnable call) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var id = Thread.currentThread().getId();
+        for (var i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+        var before = threads.getThreadAllocatedBytes(id);
+        for (var i = 0; i < CALLS; i++) {
+            call.run();
+        }
+        var perCall = (threads.getThreadAllocatedBytes(id) - before) / CALLS;
+        assertTrue(path + " allocated " + perCall + " bytes per call, budget is " + budget, perCall <= budget);
+    }
+
+    private static <T> T join(Future<T> future) {
+        return future.toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Singleton
+    static class Warm {
+    }
+
+    interface WarmService {
+    }
+
+    @Singleton
+    static class WarmImpl implements WarmService {
+    }
+
+    static class Consumer {
+        @Inject
+        Warm warm;
+    }
+}
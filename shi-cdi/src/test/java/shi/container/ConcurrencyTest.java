@@ -0,0 +1,248 @@
+package shi.container;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.impl.VertxInternal;
+import org.junit.Test;
+import shi.container.annotation.Inject;
+import shi.container.annotation.Provides;
+import shi.container.annotation.Singleton;
+import shi.container.bind.Bind;
+import shi.container.exceptions.EnvironmentException;
+import shi.container.exceptions.errors.Errors;
+import shi.container.injectors.FieldInjector;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void test_concurrent_get_registry_inject_and_add_injector() throws Exception {
+        var created = Leaf.CREATED.get();
+        var context = Container.create();
+        context.registry(Bind.bind(Root.class).to(Root.class));
+        context.registry(Bind.bind(Mid.class).to(Mid.class));
+        context.registry(Bind.bind(Leaf.class).to(Leaf.class));
+        var futures = new ArrayList<Future<?>>();
+        // Half of the callers run on their own event loop, the other half on plain worker threads
+        var workers = Executors.newFixedThreadPool(THREADS / 2);
+        var start = new CountDownLatch(1);
+        for (var t = 0; t < THREADS; t++) {
+            var promise = Promise.<List<Future<?>>>promise();
+            var caller = t;
+            Runnable hammer = () -> {
+                try {
+                    promise.complete(hammer(context, caller));
+                } catch (RuntimeException e) {
+                    promise.fail(e);
+                }
+            };
+            if (t % 2 == 0) {
+                ((VertxInternal) context.vertx()).createEventLoopContext().runOnContext(v -> hammer.run());
+            } else {
+                workers.execute(() -> {
+                    await(start);
+                    hammer.run();
+                });
+            }
+            futures.add(promise.future().compose(Future::all));
+        }
+        start.countDown();
+        var outcome = Future.join(futures).toCompletionStage().toCompletableFuture().handle((r, e) -> e).join();
+        workers.shutdown();
+        assertNull("Concurrent calls failed: " + outcome, outcome);
+        assertEquals(created + 1, Leaf.CREATED.get());
+        var root = context.getInstance(Root.class).result();
+        var leaf = context.getInstance(Leaf.class).result();
+        assertSame(leaf, root.mid.leaf);
+        assertSame(leaf, root.leaf);
+        var extras = context.getInstances(Extra.class).toCompletionStage().toCompletableFuture().join();
+        assertEquals(THREADS * ROUNDS, extras.size());
+        context.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Test
+    public void test_cycle_entered_from_both_ends_fails() throws Exception {
+        var context = Container.create();
+        context.registry(Bind.bind(Left.class).to(Left.class));
+        context.registry(Bind.bind(Right.class).to(Right.class));
+        // Both are in flight before either asks for the other
+        var left = context.getInstance(Left.class).toCompletionStage().toCompletableFuture();
+        var right = context.getInstance(Right.class).toCompletionStage().toCompletableFuture();
+        var leftError = left.handle((instance, t) -> t).get(10, TimeUnit.SECONDS);
+        var rightError = right.handle((instance, t) -> t).get(10, TimeUnit.SECONDS);
+        assertTrue(String.valueOf(leftError), isCircular(leftError));
+        assertTrue(String.valueOf(rightError), isCircular(rightError));
+        context.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Test
+    public void test_provided_singleton_created_once() throws Exception {
+        var context = Container.create();
+        context.registry(Bind.bind(Leaf.class).to(Leaf.class));
+        var module = new GadgetModule();
+        context.install(module);
+        var pool = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<java.util.concurrent.Future<Future<Gadget>>>();
+        for (var t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                await(start);
+                return context.getInstance(Gadget.class);
+            }));
+        }
+        start.countDown();
+        var gadgets = new ArrayList<Future<?>>();
+        for (var future : futures) {
+            gadgets.add(future.get(10, TimeUnit.SECONDS));
+        }
+        pool.shutdown();
+        var all = Future.all(gadgets).toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        for (var i = 1; i < THREADS; i++) {
+            assertSame(all.resultAt(0), all.resultAt(i));
+        }
+        assertEquals(1, module.provided.get());
+        context.close().toCompletionStage().toCompletableFuture().join();
+    }
+
+    private static List<Future<?>> hammer(Container context, int caller) {
+        var futures = new ArrayList<Future<?>>();
+        for (var round = 0; round < ROUNDS; round++) {
+            futures.add(context.getInstance(Root.class)
+                    .compose(root -> context.getInstance(Leaf.class)
+                            .map(leaf -> assertSameLeaf(leaf, root))));
+            context.registry(Bind.bind(Extra.class).name("extra-" + caller + "-" + round).to(Extra.class));
+            var consumer = new Consumer();
+            futures.add(context.inject(consumer).compose(c -> context.getInstance(Leaf.class)
+                    .map(leaf -> {
+                        assertSame(leaf, c.leaf);
+                        return c;
+                    })));
+            if (round % 50 == 0) {
+                context.addInjector(new NoopInjector());
+            }
+        }
+        return futures;
+    }
+
+    private static Leaf assertSameLeaf(Leaf leaf, Root root) {
+        assertSame(leaf, root.leaf);
+        assertSame(leaf, root.mid.leaf);
+        return leaf;
+    }
+
+    private static boolean isCircular(Throwable error) {
+        for (var current = error; current != null; current = current.getCause()) {
+            if (current instanceof EnvironmentException
+                    && ((EnvironmentException) current).getError().code() == Errors.CIRCULAR_INJECTION.code()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Singleton
+    static class Root {
+        private final Mid mid;
+        private final Leaf leaf;
+
+        @Inject
+        public Root(Mid mid, Leaf leaf) {
+            this.mid = mid;
+            this.leaf = leaf;
+        }
+    }
+
+    @Singleton
+    static class Mid {
+        private final Leaf leaf;
+
+        @Inject
+        public Mid(Leaf leaf) {
+            this.leaf = leaf;
+        }
+    }
+
+    @Singleton
+    static class Leaf {
+        private static final AtomicInteger CREATED = new AtomicInteger();
+
+        public Leaf() throws InterruptedException {
+            CREATED.incrementAndGet();
+            TimeUnit.MILLISECONDS.sleep(50); // NOSONAR
+        }
+    }
+
+    @Singleton
+    static class Left {
+        @Inject
+        private Right right;
+
+        public Left() throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(100); // NOSONAR
+        }
+    }
+
+    @Singleton
+    static class Right {
+        @Inject
+        private Left left;
+
+        public Right() throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(100); // NOSONAR
+        }
+    }
+
+    static class Gadget {
+    }
+
+    static class GadgetModule {
+        private final AtomicInteger provided = new AtomicInteger();
+
+        @Provides
+        @Singleton
+        Gadget gadget(Leaf leaf) {
+            provided.incrementAndGet();
+            return new Gadget();
+        }
+    }
+
+    static class Extra {
+    }
+
+    static class Consumer {
+        @Inject
+        Leaf leaf;
+    }
+
+    static class NoopInjector implements FieldInjector {
+        @Override
+        public boolean isInjectable(Field field) {
+            return false;
+        }
+
+        @Override
+        public Future<Void> inject(Object instance, Field field) {
+            return Future.succeededFuture();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package shi.container;
+
+import org.junit.Test;
+import shi.container.bind.Execution;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ContainerOptionsTest {
+
+    @Test
+    public void test_copy_keeps_every_field() throws Exception {
+        var defaults = new ContainerOptions();
+        var options = new ContainerOptions();
+        var seed = 0;
+        for (var field : fields()) {
+            field.set(options, changed(field, ++seed));
+            assertNotEquals(field.getName() + " must differ from its default", field.get(defaults), field.get(options));
+        }
+        var copy = options.copy();
+        for (var field : fields()) {
+            assertEquals(field.getName() + " was not copied", field.get(options), field.get(copy));
+        }
+        assertEquals(options, copy);
+    }
+
+    @Test
+    public void test_copy_is_independent() {
+        var options = new ContainerOptions().poolSize("reports", 2);
+        var copy = options.copy();
+        options.poolSize("reports", 4).workerPoolName("changed");
+        assertEquals(2, copy.poolSize("reports"));
+        assertEquals("shi-container", copy.workerPoolName());
+    }
+
+    private static Iterable<Field> fields() {
+        var fields = new HashMap<String, Field>();
+        for (var field : ContainerOptions.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                fields.put(field.getName(), field);
+            }
+        }
+        return fields.values();
+    }
+
+    // A value unlike the default for each field type, a field of a new type has to be added here
+    private static Object changed(Field field, int seed) {
+        var type = field.getType();
+        if (type == boolean.class) {
+            return true;
+        }
+        if (type == int.class) {
+            return 1_000 + seed;
+        }
+        if (type == long.class) {
+            return 1_000_000L + seed;
+        }
+        if (type == String.class) {
+            return "field-" + seed;
+        }
+        if (type == Path.class) {
+            return Path.of("field-" + seed);
+        }
+        if (type == Execution.class) {
+            return Execution.ADAPTIVE;
+        }
+        if (type == Map.class) {
+            return new HashMap<>(Map.of("field-" + seed, seed));
+        }
+        throw new AssertionError("No test value for " + field.getName() + " of " + type);
+    }
+}
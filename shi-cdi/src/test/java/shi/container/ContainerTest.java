@@ -1,19 +1,29 @@
 package shi.container;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.Test;
 import shi.container.annotation.Inject;
+import shi.container.annotation.Singleton;
 import shi.container.bind.Bind;
+import shi.container.exceptions.EnvironmentException;
+import shi.container.exceptions.errors.Errors;
 import shi.container.factory.InstanceFactory;
 
+import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
-public class ContainerTest {
+import static org.junit.Assert.*;
 
+public class ContainerTest extends ContainerTestSupport {
     @Test
     public void test_create() {
-        var context = Container.create();
+        var context = container();
         context.registry(Bind.bind(B.class).to(B.class));
         context.registry(Bind.bind(A.class).to(A.class));
         context.registry(Bind.bind(A2.class).to(A2.class));
@@ -34,6 +44,255 @@ public class ContainerTest {
                 .join();
     }
 
+    @Test
+    public void test_singleton_reused() {
+        var context = container();
+        context.registry(Bind.bind(S.class).to(S.class));
+        var first = context.getInstance(S.class)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        var warm = context.getInstance(S.class);
+        assertTrue(warm.succeeded());
+        assertSame(first, warm.result());
+        assertSame(warm, context.getInstance(S.class));
+    }
+
+    @Test
+    public void test_unannotated_bind_is_prototype_and_not_primary() {
+        var context = container();
+        context.registry(Bind.bind(Plain.class).to(Plain.class));
+        var first = context.getInstance(Plain.class).toCompletionStage().toCompletableFuture().join();
+        var second = context.getInstance(Plain.class).toCompletionStage().toCompletableFuture().join();
+        assertNotSame(first, second);
+
+        context.registry(Bind.bind(Shape.class).name("circle").to(Circle.class));
+        context.registry(Bind.bind(Shape.class).name("square").to(Square.class));
+        var error = assertThrows(EnvironmentException.class, () -> context.getInstance(Shape.class));
+        assertEquals(Errors.TOO_MANY_INSTANCES.code(), error.getError().code());
+    }
+
+    @Test
+    public void test_concurrent_singleton_creation_is_coalesced() {
+        var context = container();
+        context.registry(Bind.bind(SlowS.class).to(SlowS.class));
+        var first = context.getInstance(SlowS.class);
+        var second = context.getInstance(SlowS.class);
+        var instances = Future.all(first, second)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertSame(instances.resultAt(0), instances.resultAt(1));
+    }
+
+    @Test
+    public void test_circular_singletons_fail() {
+        var context = container();
+        context.registry(Bind.bind(C1.class).to(C1.class));
+        context.registry(Bind.bind(C2.class).to(C2.class));
+        var error = context.getInstance(C1.class)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .handle((instance, t) -> t)
+                .join();
+        assertEquals(Errors.CIRCULAR_INJECTION.code(), rootError(error).getError().code());
+    }
+
+    @Test
+    public void test_injection_points_resolve_concurrently() {
+        var events = new CopyOnWriteArrayList<String>();
+        var context = container();
+        context.registry(Bind.bind(First.class), new Delayed<>(context, "First", 50, First::new, events));
+        context.registry(Bind.bind(Second.class), new Delayed<>(context, "Second", 1, Second::new, events));
+        context.registry(Bind.bind(Wired.class).to(Wired.class));
+        var wired = context.getInstance(Wired.class)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        // Both are requested up front, Second resolves first but is still applied after the field declared before it
+        assertEquals(List.of("First", "Second", "Second done", "First done"), events);
+        assertTrue(wired.firstBeforeSecond);
+    }
+
+    @Test
+    public void test_sequential_injection_resolves_one_at_a_time() {
+        var events = new CopyOnWriteArrayList<String>();
+        var context = container(new ContainerOptions().sequentialInjection(true));
+        context.registry(Bind.bind(First.class), new Delayed<>(context, "First", 50, First::new, events));
+        context.registry(Bind.bind(Second.class), new Delayed<>(context, "Second", 1, Second::new, events));
+        context.registry(Bind.bind(Wired.class).to(Wired.class));
+        var wired = context.getInstance(Wired.class)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertEquals(List.of("First", "First done", "Second", "Second done"), events);
+        assertTrue(wired.firstBeforeSecond);
+    }
+
+    @Test
+    public void test_missing_bind_fails_injection_future() {
+        for (var sequential : List.of(false, true)) {
+            var context = container(new ContainerOptions().sequentialInjection(sequential));
+            var injected = context.inject(new UnitConsumer());
+            assertTrue(injected.failed());
+            assertEquals(Errors.NO_QUALIFIER_REGISTERED.code(), rootError(injected.cause()).getError().code());
+        }
+    }
+
+    @Test
+    public void test_lookup_by_supertype() {
+        var context = container();
+        context.registry(Bind.bind(B2_2.class).to(B2_2.class));
+        context.registry(Bind.bind(B2_3.class).name("b2_3").to(B2_3.class));
+        var named = context.getInstance(B2.class, "b2_3")
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertTrue(named instanceof B2_3);
+        var all = context.getInstances(B2.class)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertEquals(2, all.size());
+    }
+
+    @Test
+    public void test_pre_instantiate_singletons() {
+        var context = container();
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.registry(Bind.bind(S2.class).to(S2.class));
+        context.registry(Bind.bind(B.class).to(B.class));
+        context.preInstantiateSingletons()
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        var s2 = context.getInstance(S2.class);
+        assertTrue(s2.succeeded());
+        assertSame(context.getInstance(S.class).result(), s2.result().s);
+    }
+
+    @Test
+    public void test_metrics() {
+        var context = container(new ContainerOptions().metricsEnabled(true));
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.getInstance(S.class).toCompletionStage().toCompletableFuture().join();
+        context.getInstance(S.class).toCompletionStage().toCompletableFuture().join();
+        var snapshot = context.metrics().snapshot();
+        var s = snapshot.binds().get(S.class.getName());
+        assertEquals(1, s.creations().count());
+        assertEquals(1, s.singletonMisses());
+        assertEquals(1, s.singletonHits());
+        assertTrue(snapshot.blocking().count() >= 2);
+        assertEquals(0, snapshot.inFlight());
+        assertEquals(1, snapshot.toJson().getJsonObject("binds").size());
+
+        var disabled = container();
+        disabled.registry(Bind.bind(S.class).to(S.class));
+        disabled.getInstance(S.class).toCompletionStage().toCompletableFuture().join();
+        assertTrue(disabled.metrics().snapshot().binds().isEmpty());
+    }
+
+    @Test
+    public void test_flight_recorder_events() throws Exception {
+        var file = Files.createTempFile("shi-cdi", ".jfr");
+        try (var recording = new Recording()) {
+            recording.enable("shi.container.BindResolution");
+            recording.enable("shi.container.Instantiation");
+            recording.start();
+            var context = container();
+            context.registry(Bind.bind(S.class).to(S.class));
+            context.registry(Bind.bind(S2.class).to(S2.class));
+            context.registry(Bind.bind(B.class).to(B.class));
+            context.getInstance(S2.class).toCompletionStage().toCompletableFuture().join();
+            recording.stop();
+            recording.dump(file);
+        }
+        var events = RecordingFile.readAllEvents(file);
+        var instantiation = events.stream()
+                .filter(event -> event.getEventType().getName().equals("shi.container.Instantiation"))
+                .filter(event -> event.getString("bindKey").contains(S.class.getName() + ","))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(instantiation.getString("parent").contains(S2.class.getName()));
+        assertTrue(instantiation.getBoolean("succeeded"));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("shi.container.BindResolution")));
+    }
+
+    interface Shape {
+    }
+
+    static class Circle implements Shape {
+    }
+
+    static class Square implements Shape {
+    }
+
+    static class First {
+    }
+
+    static class Second {
+    }
+
+    static class Wired {
+        @Inject
+        private First first;
+        private boolean firstBeforeSecond;
+
+        @Inject
+        void second(Second second) {
+            firstBeforeSecond = first != null;
+        }
+    }
+
+    // Completes after a delay and records when it was asked for and when it was done
+    static class Delayed<T> implements InstanceFactory<T> {
+        private final Container context;
+        private final String name;
+        private final long delay;
+        private final Supplier<T> supplier;
+        private final List<String> events;
+
+        Delayed(Container context, String name, long delay, Supplier<T> supplier, List<String> events) {
+            this.context = context;
+            this.name = name;
+            this.delay = delay;
+            this.supplier = supplier;
+            this.events = events;
+        }
+
+        @Override
+        public Future<T> create() {
+            events.add(name);
+            var promise = Promise.<T>promise();
+            context.vertx().setTimer(delay, id -> {
+                events.add(name + " done");
+                promise.complete(supplier.get());
+            });
+            return promise.future();
+        }
+    }
+
+    @Singleton
+    static class SlowS {
+        public SlowS() throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(200); // NOSONAR
+        }
+    }
+
+    @Singleton
+    static class C1 {
+        @Inject
+        public C1(C2 c2) {
+        }
+    }
+
+    @Singleton
+    static class C2 {
+        @Inject
+        public C2(C1 c1) {
+        }
+    }
+
     static class A {
         private final List<B> bList;
         @Inject
@@ -60,16 +319,15 @@ public class ContainerTest {
 //        }
     }
 
-
-    static class B {
+    interface B2 {
 
     }
 
-    interface B2 {
+    static class B2_2 implements B2 {
 
     }
 
-    static class B2_2 implements B2 {
+    static class B2_3 implements B2 {
 
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package shi.container;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.After;
+import shi.container.annotation.Inject;
+import shi.container.annotation.Singleton;
+import shi.container.annotation.UnitScoped;
+import shi.container.exceptions.EnvironmentException;
+import shi.container.lifecircle.DisposableComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+// Containers created through these helpers are closed after each test, fixtures shared across the feature tests
+public abstract class ContainerTestSupport {
+    private final List<Container> containers = new ArrayList<>();
+
+    @After
+    public void close() {
+        for (var container : containers) {
+            container.close().toCompletionStage().toCompletableFuture().handle((v, t) -> v).join();
+        }
+    }
+
+    Container container() {
+        return container(new ContainerOptions());
+    }
+
+    Container container(ContainerOptions options) {
+        var container = Container.create(Vertx.vertx(), options);
+        containers.add(container);
+        return container;
+    }
+
+    // The innermost container error, resolution failures are wrapped by every dependent on the chain
+    static EnvironmentException rootError(Throwable error) {
+        EnvironmentException found = null;
+        for (var current = error; current != null; current = current.getCause()) {
+            if (current instanceof EnvironmentException) {
+                found = (EnvironmentException) current;
+            }
+        }
+        assertNotNull(found);
+        return found;
+    }
+
+    static <T> T onContext(Context context, Supplier<Future<T>> action) {
+        var promise = Promise.<T>promise();
+        context.runOnContext(v -> action.get().onComplete(promise));
+        return promise.future().toCompletionStage().toCompletableFuture().join();
+    }
+
+    @Singleton
+    static class S {
+    }
+
+    @Singleton
+    static class S2 {
+        final S s;
+
+        @Inject
+        public S2(S s, B b) {
+            this.s = s;
+        }
+    }
+
+    static class B {
+
+    }
+
+    static class Plain {
+    }
+
+    @UnitScoped
+    static class PerUnit implements DisposableComponent {
+        volatile boolean destroyed;
+
+        @Override
+        public Future<Void> destroy() {
+            destroyed = true;
+            return Future.succeededFuture();
+        }
+    }
+
+    static class UnitConsumer {
+        @Inject
+        PerUnit unit;
+    }
+}
@@ -0,0 +1,189 @@
+package shi.container;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import org.junit.Test;
+import shi.container.annotation.ExecuteOn;
+import shi.container.annotation.Inject;
+import shi.container.annotation.Singleton;
+import shi.container.bind.Bind;
+import shi.container.bind.Execution;
+import shi.container.exceptions.EnvironmentException;
+import shi.container.exceptions.errors.Errors;
+import shi.container.lifecircle.InitializingComponent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ExecutionTest extends ContainerTestSupport {
+    @Test
+    public void test_virtual_thread_construction_completes_on_caller_context() {
+        // Falls back to the worker pool before Java 21, the contract is the same
+        var context = container(new ContainerOptions().virtualThreads(true).metricsEnabled(true));
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.registry(Bind.bind(S2.class).to(S2.class));
+        context.registry(Bind.bind(B.class).to(B.class));
+        var caller = ((VertxInternal) context.vertx()).createEventLoopContext();
+        var completedOn = new AtomicReference<Context>();
+        var s2 = onContext(caller, () -> context.getInstance(S2.class)
+                .onSuccess(v -> completedOn.set(Vertx.currentContext())));
+        assertSame(caller, completedOn.get());
+        assertSame(context.getInstance(S.class).result(), s2.s);
+        // Virtual thread tasks are kept apart from the worker pool
+        var pools = context.metrics().snapshot().pools();
+        var virtual = Runtime.version().feature() >= 21;
+        assertEquals(virtual, pools.containsKey("virtual"));
+        assertEquals(virtual, pools.get("shi-container").completed() == 0);
+    }
+
+    @Test
+    public void test_execute_on_routes_construction() {
+        var context = container(new ContainerOptions().metricsEnabled(true));
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.registry(Bind.bind(Cheap.class).to(Cheap.class));
+        context.registry(Bind.bind(Report.class).to(Report.class));
+        var caller = ((VertxInternal) context.vertx()).createEventLoopContext();
+        var cheap = onContext(caller, () -> context.createInstance(Cheap.class));
+        assertTrue(cheap.thread.startsWith("vert.x-eventloop-thread"));
+        var report = onContext(caller, () -> context.getInstance(Report.class));
+        assertTrue(report.thread.startsWith("reports"));
+        assertTrue(report.initializedOn.startsWith("reports"));
+        var pools = context.metrics().snapshot().pools();
+        assertTrue(pools.get("shi-container").completed() >= 1);
+        // Constructor lookup, newInstance and afterPropertiesSet
+        assertEquals(3, pools.get("reports").completed());
+        assertEquals(0, pools.get("reports").queued());
+        try {
+            context.registry(Bind.bind(Unnamed.class).to(Unnamed.class));
+            fail();
+        } catch (EnvironmentException e) {
+            assertEquals(Errors.INVALID_EXECUTION.code(), e.getError().code());
+        }
+    }
+
+    @Test
+    public void test_named_pools_sized_per_name() {
+        var context = container(new ContainerOptions().metricsEnabled(true).workerPoolSize(4).poolSize("reports", 2));
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.registry(Bind.bind(Report.class).to(Report.class));
+        context.registry(Bind.bind(Export.class).to(Export.class));
+        context.getInstance(Report.class).toCompletionStage().toCompletableFuture().join();
+        context.getInstance(Export.class).toCompletionStage().toCompletableFuture().join();
+        var pools = context.metrics().snapshot().pools();
+        assertEquals(4, pools.get("shi-container").size());
+        assertEquals(2, pools.get("reports").size());
+        assertEquals(4, pools.get("exports").size());
+    }
+
+    @Test
+    public void test_inline_creation_completes_synchronously() {
+        var context = container(new ContainerOptions().execution(Execution.INLINE));
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.registry(Bind.bind(Prototype.class).to(Prototype.class));
+        context.getInstance(S.class).toCompletionStage().toCompletableFuture().join();
+        var caller = ((VertxInternal) context.vertx()).createEventLoopContext();
+        var created = onContext(caller, () -> Future.succeededFuture(context.getInstance(Prototype.class)));
+        assertTrue(created.succeeded());
+        assertTrue(created.result().thread.startsWith("vert.x-eventloop-thread"));
+        assertSame(context.getInstance(S.class).result(), created.result().s);
+
+        var perBind = container();
+        perBind.registry(Bind.bind(S.class).to(S.class));
+        perBind.registry(Bind.bind(Prototype.class).to(Prototype.class).execution(Execution.INLINE));
+        perBind.getInstance(S.class).toCompletionStage().toCompletableFuture().join();
+        assertTrue(perBind.getInstance(Prototype.class).succeeded());
+    }
+
+    @Test
+    public void test_options_frozen_at_creation() {
+        var options = new ContainerOptions().workerPoolName("frozen");
+        var context = container(options);
+        options.execution(Execution.POOL).workerPoolName("changed");
+        context.options().execution(Execution.POOL);
+        assertEquals(Execution.WORKER, context.options().execution());
+        assertEquals("frozen", context.options().workerPoolName());
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.registry(Bind.bind(Prototype.class).to(Prototype.class));
+        assertTrue(context.getInstance(Prototype.class).toCompletionStage().toCompletableFuture().join().thread.startsWith("frozen"));
+    }
+
+    @Test
+    public void test_adaptive_execution_learns_costs() {
+        // Only lower bounds on timing are asserted, every step is within a minute and Sluggish always blocks for over 1 ms
+        var context = container(new ContainerOptions()
+                .execution(Execution.ADAPTIVE)
+                .adaptiveInlineThreshold(TimeUnit.MINUTES.toMicros(1))
+                .eventLoopBlockedThreshold(1));
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.registry(Bind.bind(Prototype.class).to(Prototype.class));
+        context.registry(Bind.bind(Sluggish.class).to(Sluggish.class));
+        context.getInstance(S.class).toCompletionStage().toCompletableFuture().join();
+        var caller = ((VertxInternal) context.vertx()).createEventLoopContext();
+        // Measured on the worker pool first, inline once proven cheap
+        assertTrue(onContext(caller, () -> context.createInstance(Prototype.class)).thread.startsWith("shi-container"));
+        assertTrue(onContext(caller, () -> context.createInstance(Prototype.class)).thread.startsWith("vert.x-eventloop-thread"));
+        // Within the inline threshold, but blocking the event loop pins it to the worker pool
+        assertTrue(onContext(caller, () -> context.createInstance(Sluggish.class)).thread.startsWith("shi-container"));
+        assertTrue(onContext(caller, () -> context.createInstance(Sluggish.class)).thread.startsWith("vert.x-eventloop-thread"));
+        assertTrue(onContext(caller, () -> context.createInstance(Sluggish.class)).thread.startsWith("shi-container"));
+
+        var strict = container(new ContainerOptions().execution(Execution.ADAPTIVE));
+        strict.registry(Bind.bind(Sluggish.class).to(Sluggish.class));
+        var strictCaller = ((VertxInternal) strict.vertx()).createEventLoopContext();
+        for (var i = 0; i < 3; i++) {
+            assertTrue(onContext(strictCaller, () -> strict.createInstance(Sluggish.class)).thread.startsWith("shi-container"));
+        }
+    }
+
+    @ExecuteOn(Execution.INLINE)
+    static class Cheap {
+        private final String thread = Thread.currentThread().getName();
+    }
+
+    @Singleton
+    @ExecuteOn(value = Execution.POOL, pool = "reports")
+    static class Report implements InitializingComponent {
+        private final String thread = Thread.currentThread().getName();
+        private String initializedOn;
+
+        @Inject
+        public Report(S s) {
+        }
+
+        @Override
+        public Future<Void> afterPropertiesSet() {
+            initializedOn = Thread.currentThread().getName();
+            return Future.succeededFuture();
+        }
+    }
+
+    @ExecuteOn(value = Execution.POOL, pool = "exports")
+    static class Export {
+    }
+
+    @ExecuteOn(Execution.POOL)
+    static class Unnamed {
+    }
+
+    static class Sluggish {
+        private final String thread = Thread.currentThread().getName();
+
+        public Sluggish() throws InterruptedException {
+            TimeUnit.MILLISECONDS.sleep(5); // NOSONAR
+        }
+    }
+
+    static class Prototype {
+        private final String thread = Thread.currentThread().getName();
+        private final S s;
+
+        @Inject
+        public Prototype(S s) {
+            this.s = s;
+        }
+    }
+}
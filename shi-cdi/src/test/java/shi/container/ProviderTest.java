@@ -0,0 +1,174 @@
+package shi.container;
+
+import io.vertx.core.Future;
+import org.junit.Test;
+import shi.container.annotation.Inject;
+import shi.container.annotation.Named;
+import shi.container.annotation.Provides;
+import shi.container.annotation.Singleton;
+import shi.container.bind.Bind;
+import shi.container.exceptions.errors.Errors;
+import shi.container.lifecircle.DisposableComponent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ProviderTest extends ContainerTestSupport {
+    @Test
+    public void test_lazy_and_provider_injection() {
+        var context = container();
+        context.registry(Bind.bind(Deferred.class).to(Deferred.class));
+        context.registry(Bind.bind(Expensive.class).to(Expensive.class));
+        var deferred = context.getInstance(Deferred.class)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertEquals(0, Expensive.CREATED.get());
+        var first = deferred.lazy.get().toCompletionStage().toCompletableFuture().join();
+        assertSame(first, deferred.lazy.get().toCompletionStage().toCompletableFuture().join());
+        assertNotSame(first, deferred.provider.get().toCompletionStage().toCompletableFuture().join());
+        assertEquals(2, Expensive.CREATED.get());
+    }
+
+    @Test
+    public void test_lazy_and_provider_of_missing_bind_fail_their_future() {
+        var context = container();
+        var dangling = context.inject(new Dangling())
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertTrue(dangling.lazy.get().failed());
+        assertTrue(dangling.provider.get().failed());
+    }
+
+    @Test
+    public void test_provides_module() {
+        var context = container();
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.install(new ClientModule());
+        var client = context.getInstance(Runnable.class, "client")
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertSame(client, context.getInstance(Runnable.class, "client").result());
+        var first = context.getInstance(CharSequence.class).toCompletionStage().toCompletableFuture().join();
+        assertNotSame(first, context.getInstance(CharSequence.class).toCompletionStage().toCompletableFuture().join());
+    }
+
+    @Test
+    public void test_provider_cycle_fails() {
+        var context = container();
+        context.registry(Bind.bind(UsesClient.class).to(UsesClient.class));
+        context.install(new CyclicModule());
+        var error = context.getInstance(UsesClient.class)
+                .toCompletionStage()
+                .toCompletableFuture()
+                .handle((instance, t) -> t)
+                .join();
+        assertEquals(Errors.CIRCULAR_INJECTION.code(), rootError(error).getError().code());
+    }
+
+    @Test
+    public void test_provided_singletons_pre_instantiated_and_destroyed_in_order() {
+        var context = container();
+        context.registry(Bind.bind(Broker.class).to(Broker.class));
+        context.install(new ConnectionModule());
+        context.preInstantiateSingletons()
+                .toCompletionStage()
+                .toCompletableFuture()
+                .join();
+        assertEquals(1, ConnectionModule.PROVIDED.get());
+        assertTrue(context.getInstance(Connection.class).succeeded());
+        context.shutdown().toCompletionStage().toCompletableFuture().join();
+        assertEquals(List.of("Connection", "Broker"), Broker.DESTROYED);
+    }
+
+    static class ClientModule {
+        @Provides
+        @Singleton
+        @Named("client")
+        Runnable client(S s) {
+            assertNotNull(s);
+            return () -> {
+            };
+        }
+
+        @Provides
+        CharSequence name() {
+            return new StringBuilder("name");
+        }
+    }
+
+    interface Client {
+    }
+
+    @Singleton
+    static class UsesClient {
+        @Inject
+        private Client client;
+    }
+
+    static class CyclicModule {
+        @Provides
+        @Singleton
+        Client client(UsesClient user) {
+            return new Client() {
+            };
+        }
+    }
+
+    @Singleton
+    static class Broker implements DisposableComponent {
+        static final List<String> DESTROYED = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Future<Void> destroy() {
+            DESTROYED.add("Broker");
+            return Future.succeededFuture();
+        }
+    }
+
+    static class Connection implements DisposableComponent {
+        @Override
+        public Future<Void> destroy() {
+            Broker.DESTROYED.add("Connection");
+            return Future.succeededFuture();
+        }
+    }
+
+    static class ConnectionModule {
+        static final AtomicInteger PROVIDED = new AtomicInteger();
+
+        @Provides
+        @Singleton
+        Connection connection(Broker broker) {
+            PROVIDED.incrementAndGet();
+            return new Connection();
+        }
+    }
+
+    static class Deferred {
+        @Inject
+        private Lazy<Expensive> lazy;
+        @Inject
+        private Provider<Expensive> provider;
+    }
+
+    static class Dangling {
+        @Inject
+        private Lazy<S> lazy;
+        @Inject
+        private Provider<S> provider;
+    }
+
+    static class Expensive {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public Expensive() {
+            CREATED.incrementAndGet();
+        }
+    }
+}
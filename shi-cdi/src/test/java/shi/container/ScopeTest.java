@@ -0,0 +1,43 @@
+package shi.container;
+
+import io.vertx.core.impl.VertxInternal;
+import org.junit.Test;
+import shi.container.annotation.ContextScoped;
+import shi.container.bind.Bind;
+
+import static org.junit.Assert.*;
+
+public class ScopeTest extends ContainerTestSupport {
+    @Test
+    public void test_context_scoped_per_event_loop() {
+        var context = container();
+        context.registry(Bind.bind(PerContext.class).to(PerContext.class));
+        assertTrue(context.getInstance(PerContext.class).failed());
+        var first = ((VertxInternal) context.vertx()).createEventLoopContext();
+        var second = ((VertxInternal) context.vertx()).createEventLoopContext();
+        var a = onContext(first, () -> context.getInstance(PerContext.class));
+        var b = onContext(first, () -> context.getInstance(PerContext.class));
+        var c = onContext(second, () -> context.getInstance(PerContext.class));
+        assertSame(a, b);
+        assertNotSame(a, c);
+    }
+
+    @Test
+    public void test_unit_scope_shared_within_unit() {
+        var context = container();
+        context.registry(Bind.bind(PerUnit.class).to(PerUnit.class));
+        context.registry(Bind.bind(UnitConsumer.class).to(UnitConsumer.class));
+        var unit = context.beginScope();
+        var consumer = onContext(unit, () -> context.getInstance(UnitConsumer.class));
+        assertSame(consumer.unit, onContext(unit, () -> context.getInstance(PerUnit.class)));
+        var other = context.beginScope();
+        assertNotSame(consumer.unit, onContext(other, () -> context.getInstance(PerUnit.class)));
+        context.endScope(unit).toCompletionStage().toCompletableFuture().join();
+        assertTrue(consumer.unit.destroyed);
+        assertNull(onContext(unit, () -> context.getInstance(PerUnit.class).otherwiseEmpty()));
+    }
+
+    @ContextScoped
+    static class PerContext {
+    }
+}
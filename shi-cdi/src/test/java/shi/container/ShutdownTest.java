@@ -0,0 +1,70 @@
+package shi.container;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import org.junit.Test;
+import shi.container.annotation.Inject;
+import shi.container.annotation.Singleton;
+import shi.container.bind.Bind;
+import shi.container.lifecircle.DisposableComponent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class ShutdownTest extends ContainerTestSupport {
+    @Test
+    public void test_shutdown_disposes_open_unit_scopes() {
+        var context = container();
+        context.registry(Bind.bind(PerUnit.class).to(PerUnit.class));
+        var unit = context.beginScope();
+        var component = onContext(unit, () -> context.getInstance(PerUnit.class));
+        context.shutdown().toCompletionStage().toCompletableFuture().join();
+        assertTrue(component.destroyed);
+    }
+
+    @Test
+    public void test_shutdown_in_reverse_dependency_order() {
+        var context = container(new ContainerOptions().destroyTimeout(100));
+        context.registry(Bind.bind(Pool.class).to(Pool.class));
+        context.registry(Bind.bind(PoolUser.class).to(PoolUser.class));
+        context.registry(Bind.bind(Hung.class).to(Hung.class));
+        context.preInstantiateSingletons().toCompletionStage().toCompletableFuture().join();
+        var report = context.shutdown().toCompletionStage().toCompletableFuture().join();
+        assertEquals(List.of("PoolUser", "Pool"), Pool.DESTROYED);
+        assertEquals(1, report.timedOut().size());
+        assertEquals(Hung.class, report.timedOut().get(0).component().getType());
+    }
+
+    @Singleton
+    static class Pool implements DisposableComponent {
+        static final List<String> DESTROYED = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Future<Void> destroy() {
+            DESTROYED.add("Pool");
+            return Future.succeededFuture();
+        }
+    }
+
+    @Singleton
+    static class PoolUser implements DisposableComponent {
+        @Inject
+        private Pool pool;
+
+        @Override
+        public Future<Void> destroy() {
+            Pool.DESTROYED.add("PoolUser");
+            return Future.succeededFuture();
+        }
+    }
+
+    @Singleton
+    static class Hung implements DisposableComponent {
+        @Override
+        public Future<Void> destroy() {
+            return Promise.<Void>promise().future();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package shi.container;
+
+import org.junit.Test;
+import shi.container.bind.Bind;
+
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class SnapshotTest extends ContainerTestSupport {
+    @Test
+    public void test_graph_snapshot_restores_warm_start() throws Exception {
+        var file = Files.createTempDirectory("shi-cdi").resolve("graph.snapshot");
+        for (var i = 0; i < 2; i++) {
+            var context = container(new ContainerOptions().snapshotFile(file));
+            context.registry(Bind.bind(S.class).to(S.class));
+            context.registry(Bind.bind(S2.class).to(S2.class));
+            context.registry(Bind.bind(B.class).to(B.class));
+            context.preInstantiateSingletons().toCompletionStage().toCompletableFuture().join();
+            assertTrue(Files.size(file) > 0);
+            var s2 = context.getInstance(S2.class).toCompletionStage().toCompletableFuture().join();
+            assertSame(context.getInstance(S.class).result(), s2.s);
+        }
+        Files.write(file, new byte[]{1, 2, 3});
+        var context = container(new ContainerOptions().snapshotFile(file));
+        context.registry(Bind.bind(S.class).to(S.class));
+        context.preInstantiateSingletons().toCompletionStage().toCompletableFuture().join();
+        assertTrue(context.getInstance(S.class).succeeded());
+        assertTrue(Files.size(file) > 3);
+    }
+
+    @Test
+    public void test_graph_snapshot_keeps_flags_set_in_code() throws Exception {
+        var file = Files.createTempDirectory("shi-cdi").resolve("graph.snapshot");
+        var recording = container(new ContainerOptions().snapshotFile(file));
+        recording.registry(Bind.bind(Plain.class).to(Plain.class));
+        recording.preInstantiateSingletons().toCompletionStage().toCompletableFuture().join();
+
+        var context = container(new ContainerOptions().snapshotFile(file));
+        context.registry(Bind.bind(Plain.class).to(Plain.class).singleton(true));
+        var first = context.getInstance(Plain.class).toCompletionStage().toCompletableFuture().join();
+        assertSame(first, context.getInstance(Plain.class).toCompletionStage().toCompletableFuture().join());
+    }
+}
@@ -0,0 +1,72 @@
+package shi.container.internal;
+
+import org.junit.Test;
+import shi.container.bind.Bind;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class CreationCostsTest {
+    private final AtomicLong now = new AtomicLong();
+    // Inline up to 100 us, an event loop held for over 10 ms is blocked
+    private final CreationCosts costs = new CreationCosts(100, 10, now::get);
+    private final Bind<Component> bind = Bind.bind(Component.class).to(Component.class);
+
+    @Test
+    public void test_inlined_after_measured_steps_prove_cheap() throws Exception {
+        assertFalse(costs.inline(bind));
+        step(TimeUnit.MICROSECONDS.toNanos(40), false);
+        assertFalse(costs.inline(bind));
+        step(TimeUnit.MICROSECONDS.toNanos(100), false);
+        assertTrue(costs.inline(bind));
+    }
+
+    @Test
+    public void test_slow_step_raises_peak_and_cheap_steps_decay_it() throws Exception {
+        step(TimeUnit.MICROSECONDS.toNanos(40), false);
+        step(TimeUnit.MICROSECONDS.toNanos(40), false);
+        assertTrue(costs.inline(bind));
+        // 200 us at once, then a quarter of the gap per 40 us step: 160, 130, 107.5, 90.6
+        step(TimeUnit.MICROSECONDS.toNanos(200), false);
+        assertFalse(costs.inline(bind));
+        for (var i = 0; i < 3; i++) {
+            step(TimeUnit.MICROSECONDS.toNanos(40), false);
+            assertFalse(costs.inline(bind));
+        }
+        step(TimeUnit.MICROSECONDS.toNanos(40), false);
+        assertTrue(costs.inline(bind));
+    }
+
+    @Test
+    public void test_blocking_the_event_loop_pins_to_worker_pool() throws Exception {
+        step(TimeUnit.MILLISECONDS.toNanos(20), false);
+        for (var i = 0; i < 20; i++) {
+            step(TimeUnit.MICROSECONDS.toNanos(10), false);
+        }
+        // The same overrun on a worker only raised the peak, on the event loop it pins the bind for good
+        assertTrue(costs.inline(bind));
+        step(TimeUnit.MILLISECONDS.toNanos(20), true);
+        for (var i = 0; i < 20; i++) {
+            step(TimeUnit.MICROSECONDS.toNanos(10), true);
+        }
+        assertFalse(costs.inline(bind));
+        costs.clear();
+        assertFalse(costs.inline(bind));
+        step(TimeUnit.MICROSECONDS.toNanos(10), false);
+        step(TimeUnit.MICROSECONDS.toNanos(10), false);
+        assertTrue(costs.inline(bind));
+    }
+
+    // Runs one step that the clock sees take exactly nanos
+    private void step(long nanos, boolean onEventLoop) throws Exception {
+        assertSame(bind, costs.measure(bind, () -> {
+            now.addAndGet(nanos);
+            return bind;
+        }, onEventLoop).call());
+    }
+
+    static class Component {
+    }
+}